@@ -0,0 +1,95 @@
+package com.justedlev.account.benchmark;
+
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.custom.impl.AccountQueryTemplates;
+import com.justedlev.account.repository.entity.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered account query preparation. Hibernate is bootstrapped without a connection, nothing here reaches
+ * a database: createQuery measures the template lookup, HQL plan cache and parameter binding only.
+ * The uncached variant renders the template on every call, as the Criteria based queries used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountQueryBenchmark {
+    @Param({"TRIGRAM", "LIKE"})
+    private JAccountProperties.Search.SearchMode searchMode;
+    private SessionFactory sessionFactory;
+    private EntityManager em;
+    private AccountQueryTemplates cachedTemplates;
+    private AccountQueryTemplates uncachedTemplates;
+    private AccountFilter filter;
+
+    @Setup
+    public void setup() {
+        var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQL10Dialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", Boolean.FALSE)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "none")
+                .applySetting(AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, Boolean.TRUE)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Account.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        em = sessionFactory.createEntityManager();
+        var search = new JAccountProperties.Search();
+        search.setMode(searchMode);
+        cachedTemplates = new AccountQueryTemplates(search, new JAccountProperties.Query(), new SimpleMeterRegistry());
+        var uncached = new JAccountProperties.Query();
+        uncached.setTemplateCacheSize(0L);
+        uncachedTemplates = new AccountQueryTemplates(search, uncached, new SimpleMeterRegistry());
+        filter = BenchmarkFixtures.filter();
+    }
+
+    @TearDown
+    public void tearDown() {
+        em.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public String template() {
+        return cachedTemplates.select(filter, Sort.unsorted());
+    }
+
+    @Benchmark
+    public String templateUncached() {
+        return uncachedTemplates.select(filter, Sort.unsorted());
+    }
+
+    @Benchmark
+    public TypedQuery<Account> createQuery() {
+        var query = em.createQuery(cachedTemplates.select(filter, Sort.unsorted()), Account.class);
+
+        return cachedTemplates.bind(query, filter);
+    }
+}
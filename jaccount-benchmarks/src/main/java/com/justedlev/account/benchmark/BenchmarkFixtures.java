@@ -0,0 +1,110 @@
+package com.justedlev.account.benchmark;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.justedlev.account.common.converter.PhoneNumberConverter;
+import com.justedlev.account.common.mapper.impl.AccountMapperImpl;
+import com.justedlev.account.component.impl.PhoneNumberComponentImpl;
+import com.justedlev.account.component.impl.PresenceComponentImpl;
+import com.justedlev.account.enumeration.AccountStatusCode;
+import com.justedlev.account.enumeration.Gender;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Avatar;
+import com.justedlev.account.model.params.AccountFilterParams;
+import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.entity.Account;
+import com.justedlev.account.repository.entity.PhoneNumber;
+import com.justedlev.account.repository.projection.AccountProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+    static final String PHONE_NUMBER = "+972531234567";
+    private static final PhoneNumber PHONE = PhoneNumber.builder()
+            .national(531234567L)
+            .international("+972 53-123-4567")
+            .countryCode((short) 972)
+            .regionCode("IL")
+            .build();
+    private static final Avatar AVATAR = Avatar.builder()
+            .url("https://storage.justedlev.com/avatars/a1b2c3.png")
+            .fileName("a1b2c3.png")
+            .build();
+    private static final Timestamp NOW = new Timestamp(1_700_000_000_000L);
+
+    private BenchmarkFixtures() {
+        throw new IllegalStateException("Util class");
+    }
+
+    static PhoneNumberComponentImpl phoneNumberComponent() {
+        return new PhoneNumberComponentImpl(
+                new PhoneNumberConverter(PhoneNumberUtil.getInstance()),
+                new JAccountProperties.Phone(),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    static AccountMapperImpl accountMapper() {
+        return new AccountMapperImpl(phoneNumberComponent(), new PresenceComponentImpl(new JAccountProperties(), null));
+    }
+
+    static Account account() {
+        return Account.builder()
+                .id(UUID.randomUUID())
+                .nickname("justedlev")
+                .email("justedlev@mail.co")
+                .firstName("Justed")
+                .lastName("Lev")
+                .birthDate(NOW)
+                .gender(Gender.MALE)
+                .phoneNumber(PHONE)
+                .avatar(AVATAR)
+                .status(AccountStatusCode.ACTUAL)
+                .mode(ModeType.ONLINE)
+                .modeAt(NOW)
+                .createdAt(NOW)
+                .build();
+    }
+
+    static AccountProjection projection() {
+        return new AccountProjection(UUID.randomUUID(), "justedlev", "Justed", "Lev", NOW, Gender.MALE,
+                "justedlev@mail.co", PHONE, AVATAR, AccountStatusCode.ACTUAL, ModeType.ONLINE, NOW, NOW);
+    }
+
+    static AccountRequest accountRequest() {
+        return AccountRequest.builder()
+                .nickname("justedlev")
+                .email("justedlev@mail.co")
+                .firstName("Justed")
+                .lastName("Lev")
+                .birthDate(NOW)
+                .gender(Gender.MALE)
+                .phoneNumber(PHONE_NUMBER)
+                .build();
+    }
+
+    static AccountFilterParams filterParams() {
+        return AccountFilterParams.builder()
+                .statuses(List.of(AccountStatusCode.ACTUAL, AccountStatusCode.UNCONFIRMED))
+                .modes(List.of(ModeType.ONLINE))
+                .modeAtFrom(NOW)
+                .q("lev")
+                .build();
+    }
+
+    static AccountFilter filter() {
+        return AccountFilter.builder()
+                .emails(Set.of("Justedlev@mail.co", "lev@mail.co"))
+                .nicknames(Set.of("JustedLev"))
+                .statuses(Set.of(AccountStatusCode.ACTUAL, AccountStatusCode.UNCONFIRMED))
+                .modes(Set.of(ModeType.ONLINE, ModeType.SLEEP))
+                .modeAtFrom(NOW)
+                .searchText("lev")
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.justedlev.account.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the suites with the GC profiler and always stores the results as JSON,
+ * by default in target/jmh/jmh-result-&lt;timestamp&gt;.json, so runs can be compared.
+ * Accepts the usual JMH command line, e.g. {@code java -jar target/benchmarks.jar AccountMapper -rff base.json}.
+ */
+public final class BenchmarkRunner {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+        throw new IllegalStateException("Util class");
+    }
+
+    public static void main(String[] args) throws Exception {
+        var commandLine = new CommandLineOptions(args);
+        var result = Path.of(commandLine.getResult()
+                .orElse("target/jmh/jmh-result-" + LocalDateTime.now().format(TIMESTAMP) + ".json"));
+
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+
+        var options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.justedlev.account.benchmark;
+
+import com.justedlev.account.util.Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account id generation, random against time ordered, on one thread and contended.
+ * Index size and insert throughput at table scale are measured by benchmark/account_id.sql of the server tests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+    @Benchmark
+    public UUID random() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return Generator.generateTimeOrderedUuid();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID randomContended() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID timeOrderedContended() {
+        return Generator.generateTimeOrderedUuid();
+    }
+}
@@ -0,0 +1,73 @@
+package com.justedlev.account.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.common.model.response.PageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+    private static final TypeReference<PageResponse<AccountResponse>> PAGE_TYPE = new TypeReference<>() {
+    };
+    @Param({"20", "1000"})
+    private int pageSize;
+    private ObjectMapper objectMapper;
+    private AccountResponse account;
+    private PageResponse<AccountResponse> page;
+    private String accountJson;
+    private String pageJson;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        var accountMapper = BenchmarkFixtures.accountMapper();
+        account = accountMapper.map(BenchmarkFixtures.account());
+        var content = IntStream.range(0, pageSize)
+                .mapToObj(i -> accountMapper.map(BenchmarkFixtures.account()))
+                .toList();
+        page = PageResponse.from(new PageImpl<>(content, PageRequest.of(0, pageSize), pageSize * 10L));
+        accountJson = objectMapper.writeValueAsString(account);
+        pageJson = objectMapper.writeValueAsString(page);
+    }
+
+    @Benchmark
+    public String serializeAccount() throws Exception {
+        return objectMapper.writeValueAsString(account);
+    }
+
+    @Benchmark
+    public AccountResponse deserializeAccount() throws Exception {
+        return objectMapper.readValue(accountJson, AccountResponse.class);
+    }
+
+    @Benchmark
+    public String serializePage() throws Exception {
+        return objectMapper.writeValueAsString(page);
+    }
+
+    @Benchmark
+    public PageResponse<AccountResponse> deserializePage() throws Exception {
+        return objectMapper.readValue(pageJson, PAGE_TYPE);
+    }
+}
@@ -0,0 +1,84 @@
+package com.justedlev.account.benchmark;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.justedlev.account.common.converter.PhoneNumberConverter;
+import com.justedlev.account.component.impl.PhoneNumberComponentImpl;
+import com.justedlev.account.model.PhoneNumberInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhoneNumberBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    @Param({BenchmarkFixtures.PHONE_NUMBER, "+12025550123"})
+    private String phoneNumber;
+    private PhoneNumberConverter phoneNumberConverter;
+    private PhoneNumberComponentImpl phoneNumberComponent;
+    private List<String> batch;
+
+    @Setup
+    public void setup() {
+        phoneNumberConverter = new PhoneNumberConverter(PhoneNumberUtil.getInstance());
+        phoneNumberComponent = BenchmarkFixtures.phoneNumberComponent();
+        batch = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> "+97253" + (1_000_000 + i))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        phoneNumberComponent.shutdown();
+    }
+
+    @Benchmark
+    public PhoneNumberInfo convert() {
+        return phoneNumberConverter.convert(phoneNumber);
+    }
+
+    @Benchmark
+    public PhoneNumberInfo normalizeCached() {
+        return phoneNumberComponent.normalize(phoneNumber);
+    }
+
+    /**
+     * Parses the batch one by one, the way a bulk import did before the parallel normalization.
+     */
+    @Benchmark
+    public List<PhoneNumberInfo> convertBatch() {
+        return batch.stream()
+                .map(phoneNumberConverter::convert)
+                .toList();
+    }
+
+    /**
+     * Cold cache batch on the normalization pool, the cache is dropped after every call.
+     */
+    @Benchmark
+    public Map<String, PhoneNumberInfo> normalizeBatch() {
+        var normalized = phoneNumberComponent.normalizeAll(batch);
+        phoneNumberComponent.shutdown();
+        phoneNumberComponent = BenchmarkFixtures.phoneNumberComponent();
+
+        return normalized;
+    }
+}
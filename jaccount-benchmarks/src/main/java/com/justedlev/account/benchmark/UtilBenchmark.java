@@ -0,0 +1,49 @@
+package com.justedlev.account.benchmark;
+
+import com.justedlev.account.util.Converter;
+import com.justedlev.account.util.Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UtilBenchmark {
+    @Param({"1", "10", "1000"})
+    private int size;
+    private List<String> strings;
+
+    @Setup
+    public void setup() {
+        strings = IntStream.range(0, size)
+                .mapToObj(i -> "User" + i + "@Mail.co")
+                .toList();
+    }
+
+    @Benchmark
+    public String generateActivationCode() {
+        return Generator.generateActivationCode();
+    }
+
+    @Benchmark
+    public Set<String> toLowerCase() {
+        return Converter.toLowerCase(strings);
+    }
+}
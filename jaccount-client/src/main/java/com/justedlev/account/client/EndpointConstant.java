@@ -13,11 +13,20 @@ public final class EndpointConstant {
     public static final String UPDATE_MODE = "/update-mode";
     public static final String ACCOUNT = "/account";
     public static final String HISTORY = "/history";
+    public static final String HEARTBEAT = "/heartbeat";
+    public static final String CURSOR = "/cursor";
+    public static final String IMPORT = "/import";
+    public static final String EXPORT = "/export";
+    public static final String PHONE = "/phone";
 
     // Account
     public static final String V1_ACCOUNT = V1 + ACCOUNT;
     public static final String V1_ACCOUNT_CREATE = V1_ACCOUNT + CREATE;
     public static final String V1_ACCOUNT_PAGE = V1_ACCOUNT + PAGE;
+    public static final String V1_ACCOUNT_CURSOR = V1_ACCOUNT + CURSOR;
+    public static final String V1_ACCOUNT_IMPORT = V1_ACCOUNT + IMPORT;
+    public static final String V1_ACCOUNT_EXPORT = V1_ACCOUNT + EXPORT;
+    public static final String V1_ACCOUNT_PHONE = V1_ACCOUNT + PHONE;
     public static final String V1_ACCOUNT_UPDATE_MODE = V1_ACCOUNT + UPDATE_MODE;
     public static final String NICKNAME = "/" + PathVariableConstant.NICKNAME;
     public static final String EMAIL = "/" + PathVariableConstant.EMAIL;
@@ -32,6 +41,8 @@ public final class EndpointConstant {
     public static final String V1_ACCOUNT_NICKNAME_ACTIVATE = NICKNAME + NICKNAME_ACTIVATE;
     public static final String NICKNAME_DELETE = NICKNAME + DELETE;
     public static final String V1_ACCOUNT_NICKNAME_DELETE = V1_ACCOUNT + NICKNAME_DELETE;
+    public static final String NICKNAME_HEARTBEAT = NICKNAME + HEARTBEAT;
+    public static final String V1_ACCOUNT_NICKNAME_HEARTBEAT = V1_ACCOUNT + NICKNAME_HEARTBEAT;
     public static final String V1_ACCOUNT_CONFIRM = V1_ACCOUNT + CONFIRM;
     public static final String CODE = "/" + PathVariableConstant.CODE;
     public static final String CONFIRM_CODE = CONFIRM + CODE;
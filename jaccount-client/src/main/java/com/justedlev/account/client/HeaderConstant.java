@@ -0,0 +1,9 @@
+package com.justedlev.account.client;
+
+public final class HeaderConstant {
+    public static final String X_COUNT_TYPE = "X-Count-Type";
+
+    private HeaderConstant() {
+        throw new IllegalStateException("Constants class");
+    }
+}
@@ -1,21 +1,32 @@
 package com.justedlev.account.client;
 
 import com.justedlev.account.client.configuration.JAccountFeignClientConfiguration;
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.CountType;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.enumeration.PhoneMatch;
+import com.justedlev.account.model.params.AccountFilterParams;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.model.request.CursorPageRequest;
 import com.justedlev.account.model.request.HistoryRequest;
+import com.justedlev.account.model.request.PatchAccountRequest;
 import com.justedlev.account.model.request.UpdateAccountModeRequest;
 import com.justedlev.account.model.response.AccountHistoryResponse;
 import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.model.response.CursorPageResponse;
+import com.justedlev.account.model.response.UpdateAccountModeResponse;
 import com.justedlev.common.model.request.PaginationRequest;
 import com.justedlev.common.model.response.PageResponse;
 import com.justedlev.common.model.response.ReportResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.cloud.openfeign.SpringQueryMap;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Set;
 
 @FeignClient(
         name = "jaccount-api-client",
@@ -27,15 +38,54 @@ public interface JAccountFeignClient {
     @ResponseStatus(HttpStatus.CREATED)
     AccountResponse create(@RequestBody AccountRequest request);
 
+    @PostMapping(value = EndpointConstant.V1_ACCOUNT_IMPORT, consumes = MediaType.APPLICATION_JSON_VALUE)
+    List<ReportResponse> importAccounts(@RequestBody List<AccountRequest> requests,
+                                        @RequestParam(required = false) Boolean notify);
+
     @PostMapping(value = EndpointConstant.V1_ACCOUNT_PAGE)
     PageResponse<List<AccountResponse>> getPage(@RequestBody PaginationRequest request);
 
+    @PostMapping(value = EndpointConstant.V1_ACCOUNT_PAGE)
+    PageResponse<List<AccountResponse>> getPage(@RequestBody PaginationRequest request,
+                                                @RequestParam CountType countType);
+
+    /**
+     * Only the selected fields are read and filled in, the others stay null.
+     */
+    @PostMapping(value = EndpointConstant.V1_ACCOUNT_PAGE)
+    PageResponse<List<AccountResponse>> getPage(@RequestBody PaginationRequest request,
+                                                @RequestParam CountType countType,
+                                                @RequestParam Set<AccountField> fields);
+
+    /**
+     * Only the selected fields are read and filled in, the others stay null.
+     */
+    @PostMapping(value = EndpointConstant.V1_ACCOUNT)
+    PageResponse<List<AccountResponse>> findPage(@SpringQueryMap AccountFilterParams params,
+                                                 @RequestBody PaginationRequest pagination,
+                                                 @RequestParam CountType countType,
+                                                 @RequestParam Set<AccountField> fields);
+
+    @PostMapping(value = EndpointConstant.V1_ACCOUNT_CURSOR)
+    CursorPageResponse<AccountResponse> getCursorPage(@SpringQueryMap AccountFilterParams params,
+                                                      @RequestBody CursorPageRequest request);
+
     @GetMapping(value = EndpointConstant.V1_ACCOUNT_NICKNAME)
     AccountResponse getAccountByNickname(@PathVariable String nickname);
 
+    @GetMapping(value = EndpointConstant.V1_ACCOUNT_PHONE)
+    List<AccountResponse> getAccountsByPhoneNumber(@RequestParam String phoneNumber,
+                                                   @RequestParam(required = false) PhoneMatch match);
+
     @PutMapping(value = EndpointConstant.V1_ACCOUNT_NICKNAME_UPDATE)
     AccountResponse updateAccount(@PathVariable String nickname, @RequestBody AccountRequest request);
 
+    /**
+     * Needs a Feign client that can send PATCH, such as feign-okhttp or feign-httpclient.
+     */
+    @PatchMapping(value = EndpointConstant.V1_ACCOUNT_NICKNAME)
+    AccountResponse patchAccount(@PathVariable String nickname, @RequestBody PatchAccountRequest request);
+
     @PostMapping(
             value = EndpointConstant.V1_ACCOUNT_NICKNAME_UPDATE_AVATAR,
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE
@@ -46,8 +96,18 @@ public interface JAccountFeignClient {
     ReportResponse confirm(@PathVariable String code);
 
     @PostMapping(value = EndpointConstant.V1_ACCOUNT_UPDATE_MODE)
-    List<AccountResponse> updateMode(@RequestBody UpdateAccountModeRequest request);
+    UpdateAccountModeResponse updateMode(@RequestBody UpdateAccountModeRequest request);
+
+    @PostMapping(value = EndpointConstant.V1_ACCOUNT_NICKNAME_HEARTBEAT)
+    void heartbeat(@PathVariable String nickname, @RequestParam(required = false) ModeType mode);
 
     @PostMapping(value = EndpointConstant.V1_HISTORY_ACCOUNT)
     List<AccountHistoryResponse> getAccounts(@RequestBody HistoryRequest request);
+
+    /**
+     * Only the selected fields of the accounts are filled in, the others stay null.
+     */
+    @PostMapping(value = EndpointConstant.V1_HISTORY_ACCOUNT)
+    List<AccountHistoryResponse> getAccounts(@RequestBody HistoryRequest request,
+                                             @RequestParam Set<AccountField> fields);
 }
@@ -0,0 +1,44 @@
+package com.justedlev.account.enumeration;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Properties of {@link com.justedlev.account.model.response.AccountResponse} a caller can select with
+ * {@code fields=}, accepted either by name or by JSON property, e.g. {@code AVATAR_URL} or {@code avatarUrl}.
+ */
+public enum AccountField {
+    NICKNAME("nickname"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    BIRTH_DATE("birthDate"),
+    GENDER("gender"),
+    EMAIL("email"),
+    PHONE_NUMBER_INFO("phoneNumberInfo"),
+    STATUS("status"),
+    MODE("mode"),
+    REGISTRATION_DATE("registrationDate"),
+    AVATAR_URL("avatarUrl");
+
+    private final String property;
+
+    AccountField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static Optional<AccountField> getByName(String name) {
+        return Optional.ofNullable(name)
+                .map(String::trim)
+                .filter(StringUtils::isNotBlank)
+                .flatMap(current -> Stream.of(AccountField.values())
+                        .filter(field -> field.name().equalsIgnoreCase(current)
+                                || field.getProperty().equalsIgnoreCase(current))
+                        .findFirst());
+    }
+}
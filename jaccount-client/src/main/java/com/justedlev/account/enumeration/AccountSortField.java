@@ -0,0 +1,5 @@
+package com.justedlev.account.enumeration;
+
+public enum AccountSortField {
+    CREATED_AT, MODE_AT, NICKNAME, EMAIL
+}
@@ -0,0 +1,16 @@
+package com.justedlev.account.enumeration;
+
+public enum CountType {
+    /**
+     * count(*) with the full predicate set on every request.
+     */
+    EXACT,
+    /**
+     * Exact count reused for a short time for the same filter.
+     */
+    CACHED,
+    /**
+     * Row estimate of the PostgreSQL planner.
+     */
+    ESTIMATED
+}
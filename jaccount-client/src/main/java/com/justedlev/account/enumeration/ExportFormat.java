@@ -0,0 +1,12 @@
+package com.justedlev.account.enumeration;
+
+public enum ExportFormat {
+    /**
+     * One JSON account per line.
+     */
+    NDJSON,
+    /**
+     * Header line followed by one flattened account per line.
+     */
+    CSV
+}
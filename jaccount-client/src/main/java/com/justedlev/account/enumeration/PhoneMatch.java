@@ -0,0 +1,12 @@
+package com.justedlev.account.enumeration;
+
+public enum PhoneMatch {
+    /**
+     * Same country code and national number as the parsed phone number.
+     */
+    EXACT,
+    /**
+     * International number, digits only, starts with the given digits.
+     */
+    PREFIX
+}
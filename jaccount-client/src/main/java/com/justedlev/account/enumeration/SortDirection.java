@@ -0,0 +1,5 @@
+package com.justedlev.account.enumeration;
+
+public enum SortDirection {
+    ASC, DESC
+}
@@ -0,0 +1,29 @@
+package com.justedlev.account.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountInvalidationEvent {
+    private UUID id;
+    /**
+     * Lower cased nicknames to evict, a rename coalesced into one event carries both the old and the new one.
+     */
+    private Set<String> nicknames;
+    /**
+     * Lower cased emails to evict, accumulated the same way as the nicknames.
+     */
+    private Set<String> emails;
+    /**
+     * Publisher clock in millis of the newest coalesced event.
+     */
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package com.justedlev.account.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountInvalidationMessage {
+    private String origin;
+    private List<AccountInvalidationEvent> events;
+}
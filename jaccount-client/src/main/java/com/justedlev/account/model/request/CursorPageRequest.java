@@ -0,0 +1,33 @@
+package com.justedlev.account.model.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.justedlev.account.enumeration.AccountSortField;
+import com.justedlev.account.enumeration.SortDirection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CursorPageRequest {
+    /**
+     * Continuation token returned as {@code next} by the previous page, empty for the first page.
+     */
+    private String cursor;
+    @Builder.Default
+    @Min(value = 1, message = "Size must be at least 1.")
+    @Max(value = 1000, message = "Size must be at most 1000.")
+    private Integer size = 20;
+    @Builder.Default
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private AccountSortField sortBy = AccountSortField.CREATED_AT;
+    @Builder.Default
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private SortDirection direction = SortDirection.DESC;
+}
@@ -16,4 +16,8 @@ public class HistoryRequest {
     private Set<String> emails;
     private Set<String> usernames;
     private PaginationRequest pageRequest;
+    /**
+     * Also looks in accounts_archive, where DELETED and expired UNCONFIRMED accounts end up.
+     */
+    private Boolean includeArchived;
 }
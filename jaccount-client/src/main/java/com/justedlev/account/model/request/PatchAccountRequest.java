@@ -0,0 +1,36 @@
+package com.justedlev.account.model.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.justedlev.account.converter.LowerCaseConverter;
+import com.justedlev.account.enumeration.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Email;
+import java.sql.Timestamp;
+
+/**
+ * Sparse change set, only the fields present are written, absent or null ones are left as they are.
+ * A blank email or nickname counts as absent.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PatchAccountRequest {
+    @Email
+    @JsonDeserialize(converter = LowerCaseConverter.class)
+    private String email;
+    @JsonDeserialize(converter = LowerCaseConverter.class)
+    private String nickname;
+    private String firstName;
+    private String lastName;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Timestamp birthDate;
+    private String phoneNumber;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Gender gender;
+}
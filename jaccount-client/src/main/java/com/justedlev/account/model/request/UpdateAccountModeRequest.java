@@ -19,4 +19,6 @@ public class UpdateAccountModeRequest {
     @NotNull(message = "Made cannot be empty.")
     @JsonFormat(shape = JsonFormat.Shape.STRING)
     private ModeType toMode;
+    @Builder.Default
+    private Boolean withAccounts = Boolean.FALSE;
 }
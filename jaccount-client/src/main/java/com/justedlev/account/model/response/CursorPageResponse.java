@@ -0,0 +1,22 @@
+package com.justedlev.account.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+    /**
+     * Opaque continuation token of the next page, {@code null} on the last page.
+     */
+    private String next;
+}
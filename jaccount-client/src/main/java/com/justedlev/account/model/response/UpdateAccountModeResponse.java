@@ -0,0 +1,21 @@
+package com.justedlev.account.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.justedlev.account.enumeration.ModeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateAccountModeResponse {
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private ModeType mode;
+    private Long count;
+    private List<AccountResponse> accounts;
+}
@@ -1,7 +1,8 @@
 package com.justedlev.account.boot;
 
-import com.justedlev.account.common.converter.PhoneNumberConverter;
+import com.justedlev.account.common.mapper.AccountMapper;
 import com.justedlev.account.component.AccountComponent;
+import com.justedlev.account.component.PhoneNumberComponent;
 import com.justedlev.account.enumeration.AccountStatusCode;
 import com.justedlev.account.enumeration.Gender;
 import com.justedlev.account.enumeration.ModeType;
@@ -28,7 +29,8 @@ public class RandomAccountsBoot implements ApplicationRunner {
     private static final String SYMBOLS = "QWERTYUIOPASDFGHJKLZXCVBNMqwertyuiopasdfghjklzxcvbnm1234567890";
     private static final Boolean FILL = Boolean.FALSE;
     private final AccountComponent accountComponent;
-    private final PhoneNumberConverter phoneNumberConverter;
+    private final PhoneNumberComponent phoneNumberComponent;
+    private final AccountMapper accountMapper;
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
@@ -41,7 +43,7 @@ public class RandomAccountsBoot implements ApplicationRunner {
 
             List<Account> list = new ArrayList<>();
             for (int i = 0; i < count; i++) {
-                var phone = phoneNumberConverter.convert("+" + countries[getRandomIndex(countries.length)] + RandomUtils.nextInt(1000000, 9999999));
+                var phone = phoneNumberComponent.normalize("+" + countries[getRandomIndex(countries.length)] + RandomUtils.nextInt(1000000, 9999999));
                 var nickname = RandomStringUtils.random(RandomUtils.nextInt(4, 9), SYMBOLS);
                 var account = Account.builder()
                         .nickname(nickname)
@@ -51,7 +53,7 @@ public class RandomAccountsBoot implements ApplicationRunner {
                         .gender(genders[getRandomIndex(genders.length)])
                         .firstName(RandomStringUtils.randomAlphanumeric(4, 8))
                         .lastName(RandomStringUtils.randomAlphanumeric(4, 8))
-                        .phoneNumberInfo(phone)
+                        .phoneNumber(accountMapper.map(phone))
                         .createdAt(new Timestamp(RandomUtils.nextLong(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(3), System.currentTimeMillis())))
                         .build();
                 list.add(account);
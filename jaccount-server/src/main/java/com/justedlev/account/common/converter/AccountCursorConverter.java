@@ -0,0 +1,107 @@
+package com.justedlev.account.common.converter;
+
+import com.justedlev.account.enumeration.AccountSortField;
+import com.justedlev.account.model.request.CursorPageRequest;
+import com.justedlev.account.repository.custom.filter.AccountCursor;
+import com.justedlev.account.repository.entity.Account;
+import com.justedlev.account.repository.entity.Account_;
+import com.justedlev.common.entity.BaseEntity_;
+import io.vavr.control.Try;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Converts a {@link CursorPageRequest} to an {@link AccountCursor} and back to an opaque token
+ * of the form {@code sortBy|direction|id|value} encoded with url safe base64.
+ */
+@Component
+public class AccountCursorConverter implements Converter<CursorPageRequest, AccountCursor> {
+    private static final String SEPARATOR = "|";
+    private static final int PARTS = 4;
+
+    @Override
+    public AccountCursor convert(@NonNull CursorPageRequest source) {
+        if (StringUtils.isBlank(source.getCursor())) {
+            return AccountCursor.builder()
+                    .sortBy(source.getSortBy())
+                    .attribute(getAttribute(source.getSortBy()))
+                    .direction(Sort.Direction.valueOf(source.getDirection().name()))
+                    .build();
+        }
+
+        return Try.of(() -> decode(source.getCursor()))
+                .getOrElseThrow(() -> new IllegalArgumentException("Cursor not valid"));
+    }
+
+    public String toToken(AccountCursor cursor, Account last) {
+        var token = String.join(SEPARATOR,
+                cursor.getSortBy().name(),
+                cursor.getDirection().name(),
+                last.getId().toString(),
+                toTokenValue(getValue(cursor.getSortBy(), last)));
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private AccountCursor decode(String token) {
+        var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        var parts = StringUtils.splitPreserveAllTokens(decoded, SEPARATOR, PARTS);
+        var sortBy = AccountSortField.valueOf(parts[0]);
+
+        return AccountCursor.builder()
+                .sortBy(sortBy)
+                .attribute(getAttribute(sortBy))
+                .direction(Sort.Direction.valueOf(parts[1]))
+                .id(UUID.fromString(parts[2]))
+                .value(fromTokenValue(sortBy, parts[3]))
+                .build();
+    }
+
+    private String getAttribute(AccountSortField sortBy) {
+        return switch (sortBy) {
+            case CREATED_AT -> BaseEntity_.CREATED_AT;
+            case MODE_AT -> Account_.MODE_AT;
+            case NICKNAME -> Account_.NICKNAME;
+            case EMAIL -> Account_.EMAIL;
+        };
+    }
+
+    private Object getValue(AccountSortField sortBy, Account account) {
+        return switch (sortBy) {
+            case CREATED_AT -> account.getCreatedAt();
+            case MODE_AT -> account.getModeAt();
+            case NICKNAME -> account.getNickname();
+            case EMAIL -> account.getEmail();
+        };
+    }
+
+    private String toTokenValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toString();
+        }
+
+        if (value instanceof Date date) {
+            return new Timestamp(date.getTime()).toString();
+        }
+
+        return String.valueOf(value);
+    }
+
+    private Comparable<?> fromTokenValue(AccountSortField sortBy, String value) {
+        return switch (sortBy) {
+            case CREATED_AT, MODE_AT -> Timestamp.valueOf(value);
+            case NICKNAME, EMAIL -> value;
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.justedlev.account.common.converter;
+
+import com.justedlev.account.enumeration.AccountField;
+import lombok.NonNull;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets {@code fields=} take JSON property names as well as enum names.
+ */
+@Component
+public class AccountFieldConverter implements Converter<String, AccountField> {
+    @Override
+    public AccountField convert(@NonNull String source) {
+        return AccountField.getByName(source)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown account field " + source));
+    }
+}
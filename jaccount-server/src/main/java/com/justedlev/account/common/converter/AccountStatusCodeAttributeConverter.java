@@ -0,0 +1,19 @@
+package com.justedlev.account.common.converter;
+
+import com.justedlev.account.enumeration.AccountStatusCode;
+
+import javax.persistence.Converter;
+import java.util.List;
+
+@Converter
+public class AccountStatusCodeAttributeConverter extends EnumCodeAttributeConverter<AccountStatusCode> {
+    public AccountStatusCodeAttributeConverter() {
+        super(List.of(
+                AccountStatusCode.ACTUAL,
+                AccountStatusCode.UNCONFIRMED,
+                AccountStatusCode.RESTORED,
+                AccountStatusCode.DEACTIVATED,
+                AccountStatusCode.DELETED
+        ));
+    }
+}
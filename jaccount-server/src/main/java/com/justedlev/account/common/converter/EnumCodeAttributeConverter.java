@@ -0,0 +1,32 @@
+package com.justedlev.account.common.converter;
+
+import javax.persistence.AttributeConverter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores an enum as a smallint code, its 1 based position in {@code values}.
+ * Codes are independent of the declaration order of the enum, new constants must be appended to {@code values}
+ * and to the matching array of V9__add_account_code_columns.sql.
+ */
+public abstract class EnumCodeAttributeConverter<E extends Enum<E>> implements AttributeConverter<E, Short> {
+    private final List<E> values;
+
+    protected EnumCodeAttributeConverter(List<E> values) {
+        this.values = values;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return Optional.ofNullable(attribute)
+                .map(current -> (short) (values.indexOf(current) + 1))
+                .orElse(null);
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short dbData) {
+        return Optional.ofNullable(dbData)
+                .map(current -> values.get(current - 1))
+                .orElse(null);
+    }
+}
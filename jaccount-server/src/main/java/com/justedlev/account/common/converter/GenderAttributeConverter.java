@@ -0,0 +1,13 @@
+package com.justedlev.account.common.converter;
+
+import com.justedlev.account.enumeration.Gender;
+
+import javax.persistence.Converter;
+import java.util.List;
+
+@Converter
+public class GenderAttributeConverter extends EnumCodeAttributeConverter<Gender> {
+    public GenderAttributeConverter() {
+        super(List.of(Gender.MALE, Gender.FEMALE));
+    }
+}
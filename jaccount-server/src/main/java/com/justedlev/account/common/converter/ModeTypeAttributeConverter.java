@@ -0,0 +1,13 @@
+package com.justedlev.account.common.converter;
+
+import com.justedlev.account.enumeration.ModeType;
+
+import javax.persistence.Converter;
+import java.util.List;
+
+@Converter
+public class ModeTypeAttributeConverter extends EnumCodeAttributeConverter<ModeType> {
+    public ModeTypeAttributeConverter() {
+        super(List.of(ModeType.ONLINE, ModeType.OFFLINE, ModeType.HIDDEN, ModeType.SLEEP));
+    }
+}
@@ -1,14 +1,42 @@
 package com.justedlev.account.common.mapper;
 
+import com.justedlev.account.model.Avatar;
+import com.justedlev.account.model.PhoneNumberInfo;
+import com.justedlev.account.model.params.AccountFilterParams;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.model.request.PatchAccountRequest;
+import com.justedlev.account.model.request.RegistrationRequest;
 import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.custom.patch.AccountPatch;
 import com.justedlev.account.repository.entity.Account;
-import org.modelmapper.ModelMapper;
+import com.justedlev.account.repository.entity.PhoneNumber;
+import com.justedlev.account.repository.projection.AccountProjection;
 
 public interface AccountMapper {
-    ModelMapper getMapper();
-
     Account map(AccountRequest request);
 
+    /**
+     * Copies the non null fields of the request onto the account.
+     */
+    void map(AccountRequest request, Account account);
+
+    AccountRequest map(RegistrationRequest request);
+
+    AccountPatch map(PatchAccountRequest request);
+
     AccountResponse map(Account request);
+
+    AccountResponse map(AccountProjection projection);
+
+    AccountFilter map(AccountFilterParams params);
+
+    PhoneNumber map(PhoneNumberInfo phoneNumberInfo);
+
+    PhoneNumberInfo map(PhoneNumber phoneNumber);
+
+    /**
+     * Avatar of a file uploaded to jstorage, from the name and url of the upload response.
+     */
+    Avatar toAvatar(String fileName, String url);
 }
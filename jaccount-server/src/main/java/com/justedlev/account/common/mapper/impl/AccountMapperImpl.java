@@ -1,63 +1,216 @@
 package com.justedlev.account.common.mapper.impl;
 
-import com.justedlev.account.common.converter.PhoneNumberConverter;
 import com.justedlev.account.common.mapper.AccountMapper;
-import com.justedlev.account.common.mapper.BaseModelMapper;
+import com.justedlev.account.component.PhoneNumberComponent;
+import com.justedlev.account.component.PresenceComponent;
+import com.justedlev.account.enumeration.ModeType;
 import com.justedlev.account.model.Avatar;
+import com.justedlev.account.model.Mode;
 import com.justedlev.account.model.PhoneNumberInfo;
+import com.justedlev.account.model.params.AccountFilterParams;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.model.request.PatchAccountRequest;
+import com.justedlev.account.model.request.RegistrationRequest;
 import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.custom.patch.AccountPatch;
 import com.justedlev.account.repository.entity.Account;
+import com.justedlev.account.repository.entity.PhoneNumber;
+import com.justedlev.account.repository.projection.AccountProjection;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class AccountMapperImpl implements AccountMapper {
-    private final ModelMapper mapper = new BaseModelMapper();
-    private final PhoneNumberConverter phoneNumberConverter;
+    private final PhoneNumberComponent phoneNumberComponent;
+    private final PresenceComponent presenceComponent;
 
     @Override
-    public ModelMapper getMapper() {
-        return this.mapper;
+    public AccountResponse map(Account request) {
+        if (request == null) {
+            return null;
+        }
+
+        return AccountResponse.builder()
+                .nickname(request.getNickname())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .birthDate(request.getBirthDate())
+                .gender(request.getGender())
+                .email(request.getEmail())
+                .phoneNumberInfo(map(request.getPhoneNumber()))
+                .status(request.getStatus())
+                .mode(getMode(request.getId(), request.getMode(), request.getModeAt()))
+                .registrationDate(request.getCreatedAt())
+                .avatarUrl(getAvatarUrl(request.getAvatar()))
+                .build();
     }
 
     @Override
-    public AccountResponse map(Account request) {
-        return mapper.map(request, AccountResponse.class);
+    public AccountResponse map(AccountProjection projection) {
+        if (projection == null) {
+            return null;
+        }
+
+        return AccountResponse.builder()
+                .nickname(projection.nickname())
+                .firstName(projection.firstName())
+                .lastName(projection.lastName())
+                .birthDate(projection.birthDate())
+                .gender(projection.gender())
+                .email(projection.email())
+                .phoneNumberInfo(map(projection.phoneNumber()))
+                .status(projection.status())
+                .mode(projection.mode() == null
+                        ? null
+                        : getMode(projection.id(), projection.mode(), projection.modeAt()))
+                .registrationDate(projection.createdAt())
+                .avatarUrl(getAvatarUrl(projection.avatar()))
+                .build();
     }
 
     @Override
     public Account map(AccountRequest request) {
-        return mapper.map(request, Account.class);
+        if (request == null) {
+            return null;
+        }
+
+        return Account.builder()
+                .email(request.getEmail())
+                .nickname(request.getNickname())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .birthDate(request.getBirthDate())
+                .gender(request.getGender())
+                .phoneNumber(map(convertToPhoneInfo(request)))
+                .build();
     }
 
-    @PostConstruct
-    private void init() {
-        mapper.createTypeMap(Account.class, AccountResponse.class)
-                .addMapping(Account::getCreatedAt, AccountResponse::setRegistrationDate)
-                .addMapping(this::getAvatarUrl, AccountResponse::setAvatarUrl);
-        mapper.createTypeMap(AccountRequest.class, Account.class)
-                .addMapping(this::convertToPhoneInfo, Account::setPhoneNumberInfo);
+    @Override
+    public void map(AccountRequest request, Account account) {
+        Optional.ofNullable(request.getEmail()).ifPresent(account::setEmail);
+        Optional.ofNullable(request.getNickname()).ifPresent(account::setNickname);
+        Optional.ofNullable(request.getFirstName()).ifPresent(account::setFirstName);
+        Optional.ofNullable(request.getLastName()).ifPresent(account::setLastName);
+        Optional.ofNullable(request.getBirthDate()).ifPresent(account::setBirthDate);
+        Optional.ofNullable(request.getGender()).ifPresent(account::setGender);
+        Optional.ofNullable(map(convertToPhoneInfo(request))).ifPresent(account::setPhoneNumber);
     }
 
-    private String getAvatarUrl(Account account) {
-        return Optional.of(account)
-                .map(Account::getAvatar)
-                .map(Avatar::getUrl)
-                .orElse(null);
+    @Override
+    public AccountRequest map(RegistrationRequest request) {
+        if (request == null) {
+            return null;
+        }
+
+        return AccountRequest.builder()
+                .email(request.getEmail())
+                .nickname(request.getNickname())
+                .build();
+    }
+
+    @Override
+    public AccountPatch map(PatchAccountRequest request) {
+        if (request == null) {
+            return new AccountPatch();
+        }
+
+        return AccountPatch.builder()
+                .nickname(StringUtils.defaultIfBlank(request.getNickname(), null))
+                .email(StringUtils.defaultIfBlank(request.getEmail(), null))
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .birthDate(request.getBirthDate())
+                .gender(request.getGender())
+                .phoneNumber(Optional.ofNullable(request.getPhoneNumber())
+                        .filter(StringUtils::isNotBlank)
+                        .map(phoneNumberComponent::normalize)
+                        .map(this::map)
+                        .orElse(null))
+                .build();
+    }
+
+    @Override
+    public AccountFilter map(AccountFilterParams params) {
+        if (params == null) {
+            return new AccountFilter();
+        }
+
+        return AccountFilter.builder()
+                .statuses(params.getStatuses())
+                .modes(params.getModes())
+                .modeAtFrom(params.getModeAtFrom())
+                .modeAtTo(params.getModeAtTo())
+                .searchText(params.getQ())
+                .build();
+    }
+
+    @Override
+    public PhoneNumber map(PhoneNumberInfo phoneNumberInfo) {
+        if (phoneNumberInfo == null) {
+            return null;
+        }
+
+        return PhoneNumber.builder()
+                .national(phoneNumberInfo.getNational())
+                .countryCode(Optional.ofNullable(phoneNumberInfo.getCountryCode())
+                        .map(Integer::shortValue)
+                        .orElse(null))
+                .regionCode(phoneNumberInfo.getRegionCode())
+                .international(phoneNumberInfo.getInternational())
+                .build();
+    }
+
+    @Override
+    public PhoneNumberInfo map(PhoneNumber phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+
+        return PhoneNumberInfo.builder()
+                .national(phoneNumber.getNational())
+                .countryCode(Optional.ofNullable(phoneNumber.getCountryCode())
+                        .map(Short::intValue)
+                        .orElse(null))
+                .regionCode(phoneNumber.getRegionCode())
+                .international(phoneNumber.getInternational())
+                .build();
+    }
+
+    @Override
+    public Avatar toAvatar(String fileName, String url) {
+        if (fileName == null && url == null) {
+            return null;
+        }
+
+        return Avatar.builder()
+                .fileName(fileName)
+                .url(url)
+                .build();
+    }
+
+    private ModeType getMode(UUID id, ModeType mode, Timestamp modeAt) {
+        return presenceComponent.getMode(id)
+                .filter(current -> modeAt == null || current.getModeAt().after(modeAt))
+                .map(Mode::getModeType)
+                .orElse(mode);
+    }
+
+    private String getAvatarUrl(Avatar avatar) {
+        return avatar == null ? null : avatar.getUrl();
     }
 
     private PhoneNumberInfo convertToPhoneInfo(AccountRequest accountRequest) {
         return Optional.ofNullable(accountRequest)
                 .map(AccountRequest::getPhoneNumber)
                 .filter(StringUtils::isNotBlank)
-                .map(phoneNumberConverter::convert)
+                .map(phoneNumberComponent::normalize)
                 .orElse(null);
     }
 }
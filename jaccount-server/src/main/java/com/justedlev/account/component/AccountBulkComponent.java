@@ -0,0 +1,13 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.repository.entity.Account;
+import com.justedlev.common.model.response.ReportResponse;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface AccountBulkComponent {
+    List<ReportResponse> create(Iterator<AccountRequest> requests, Consumer<Account> onCreated);
+}
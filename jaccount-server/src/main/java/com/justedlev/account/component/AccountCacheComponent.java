@@ -0,0 +1,22 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.model.event.AccountInvalidationEvent;
+import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.repository.entity.Account;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface AccountCacheComponent {
+    Optional<AccountResponse> getByNickname(String nickname, Supplier<Optional<Account>> loader);
+
+    Optional<AccountResponse> getByEmail(String email, Supplier<Optional<Account>> loader);
+
+    Optional<UUID> getIdByNickname(String nickname, Supplier<Optional<Account>> loader);
+
+    void evict(AccountInvalidationEvent event);
+
+    void evict(Collection<UUID> ids);
+}
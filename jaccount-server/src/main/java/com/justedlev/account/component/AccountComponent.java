@@ -4,28 +4,43 @@ import com.justedlev.account.component.base.CreateEntity;
 import com.justedlev.account.component.base.DeleteEntity;
 import com.justedlev.account.component.base.SaveEntity;
 import com.justedlev.account.component.base.UpdateEntity;
+import com.justedlev.account.component.model.CountedPage;
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.CountType;
+import com.justedlev.account.enumeration.PhoneMatch;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.repository.custom.filter.AccountCursor;
 import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.custom.patch.AccountPatch;
 import com.justedlev.account.repository.entity.Account;
-import org.springframework.data.domain.Page;
+import com.justedlev.account.repository.projection.AccountProjection;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface AccountComponent extends UpdateEntity<AccountRequest, Account>, CreateEntity<AccountRequest, Account>,
         SaveEntity<Account>, DeleteEntity<Account> {
     List<Account> getByFilter(AccountFilter filter);
 
-    Page<Account> getPageByFilter(AccountFilter filter, Pageable pageable);
+    CountedPage<AccountProjection> getPageByFilter(AccountFilter filter,
+                                            Pageable pageable,
+                                            CountType countType,
+                                            Set<AccountField> fields);
 
-    Page<Account> getPage(Pageable pageable);
+    CountedPage<AccountProjection> getPage(Pageable pageable, CountType countType, Set<AccountField> fields);
 
-    Account confirm(String activationCode);
+    List<Account> getByCursor(AccountFilter filter, AccountCursor cursor, int limit);
 
     Account update(String nickname, AccountRequest request);
 
+    /**
+     * Writes only the fields set in the patch, see {@link AccountPatch}.
+     */
+    Account patch(String nickname, AccountPatch patch);
+
     Account deactivate(String nickname);
 
     Account activate(String nickname);
@@ -34,5 +49,7 @@ public interface AccountComponent extends UpdateEntity<AccountRequest, Account>,
 
     Optional<Account> getByNickname(String nickname);
 
+    List<Account> getByPhoneNumber(String phoneNumber, PhoneMatch match);
+
     Account update(String nickname, MultipartFile photo);
 }
@@ -0,0 +1,10 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.enumeration.ExportFormat;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+
+import java.io.OutputStream;
+
+public interface AccountExportComponent {
+    long export(AccountFilter filter, ExportFormat format, OutputStream output);
+}
@@ -0,0 +1,11 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.model.event.AccountInvalidationMessage;
+
+import java.util.function.Consumer;
+
+public interface AccountInvalidationBus {
+    void send(AccountInvalidationMessage message);
+
+    void subscribe(Consumer<AccountInvalidationMessage> subscriber);
+}
@@ -0,0 +1,14 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.repository.entity.Account;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface AccountInvalidationComponent {
+    void invalidate(Account account);
+
+    void invalidate(Collection<UUID> ids);
+
+    void flush();
+}
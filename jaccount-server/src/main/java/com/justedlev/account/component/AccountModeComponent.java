@@ -1,10 +1,10 @@
 package com.justedlev.account.component;
 
-import java.util.List;
-
 import com.justedlev.account.model.request.UpdateAccountModeRequest;
-import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.model.response.UpdateAccountModeResponse;
 
 public interface AccountModeComponent {
-    List<AccountResponse> updateMode(UpdateAccountModeRequest command);
+    UpdateAccountModeResponse updateMode(UpdateAccountModeRequest command);
+
+    UpdateAccountModeResponse updateMode(UpdateAccountModeRequest command, int shard, int shards);
 }
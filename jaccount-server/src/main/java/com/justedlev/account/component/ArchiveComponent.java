@@ -0,0 +1,10 @@
+package com.justedlev.account.component;
+
+public interface ArchiveComponent {
+    /**
+     * Moves DELETED and expired UNCONFIRMED accounts to accounts_archive.
+     *
+     * @return number of archived accounts
+     */
+    long archive();
+}
@@ -0,0 +1,10 @@
+package com.justedlev.account.component;
+
+public interface ConfirmationComponent {
+    /**
+     * Switches the UNCONFIRMED account of the activation code to ACTUAL.
+     *
+     * @return nickname of the confirmed account
+     */
+    String confirm(String activationCode);
+}
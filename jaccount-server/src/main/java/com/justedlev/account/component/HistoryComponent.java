@@ -1,10 +1,12 @@
 package com.justedlev.account.component;
 
+import com.justedlev.account.enumeration.AccountField;
 import com.justedlev.account.model.request.HistoryRequest;
 import com.justedlev.account.model.response.AccountHistoryResponse;
 
 import java.util.List;
+import java.util.Set;
 
 public interface HistoryComponent {
-    List<AccountHistoryResponse> getAccounts(HistoryRequest request);
+    List<AccountHistoryResponse> getAccounts(HistoryRequest request, Set<AccountField> fields);
 }
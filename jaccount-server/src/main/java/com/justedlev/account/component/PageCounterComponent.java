@@ -1,5 +1,11 @@
 package com.justedlev.account.component;
 
+import com.justedlev.account.component.model.PageCount;
+import com.justedlev.account.enumeration.CountType;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+
 public interface PageCounterComponent {
-     int accountPageCount(int size);
+    int accountPageCount(int size);
+
+    PageCount count(AccountFilter filter, CountType type);
 }
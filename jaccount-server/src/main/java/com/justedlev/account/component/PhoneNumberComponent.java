@@ -0,0 +1,18 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.model.PhoneNumberInfo;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface PhoneNumberComponent {
+    /**
+     * Parsed phone number, shared with other callers of the same input and not to be modified.
+     */
+    PhoneNumberInfo normalize(String phoneNumber);
+
+    /**
+     * Normalizes the distinct phone numbers in parallel, numbers that cannot be parsed are left out.
+     */
+    Map<String, PhoneNumberInfo> normalizeAll(Collection<String> phoneNumbers);
+}
@@ -0,0 +1,15 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Mode;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PresenceComponent {
+    void heartbeat(UUID id, ModeType mode);
+
+    Optional<Mode> getMode(UUID id);
+
+    void flush();
+}
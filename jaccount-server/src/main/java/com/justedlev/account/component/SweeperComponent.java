@@ -0,0 +1,7 @@
+package com.justedlev.account.component;
+
+public interface SweeperComponent {
+    void sweep();
+
+    void release();
+}
@@ -0,0 +1,11 @@
+package com.justedlev.account.component.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published by the presence component once heartbeats are written to the accounts table.
+ * The account caches hold the previous mode, which only the local presence overlays.
+ */
+public record PresenceFlushedEvent(Set<UUID> ids) {
+}
@@ -0,0 +1,240 @@
+package com.justedlev.account.component.impl;
+
+import com.justedlev.account.common.mapper.AccountMapper;
+import com.justedlev.account.common.mapper.ReportMapper;
+import com.justedlev.account.component.AccountBulkComponent;
+import com.justedlev.account.component.AccountInvalidationComponent;
+import com.justedlev.account.component.PhoneNumberComponent;
+import com.justedlev.account.constant.ExceptionConstant;
+import com.justedlev.account.enumeration.AccountStatusCode;
+import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.AccountRepository;
+import com.justedlev.account.repository.entity.Account;
+import com.justedlev.account.repository.projection.AccountKeyProjection;
+import com.justedlev.common.model.response.ReportResponse;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates accounts chunk by chunk: the phone numbers of a chunk are parsed in parallel up front, one query
+ * finds the emails and nicknames already taken, the rest is inserted in one transaction through Hibernate JDBC
+ * batching. A chunk that still hits a unique index falls back to row by row inserts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountBulkComponentImpl implements AccountBulkComponent {
+    private static final String ROW = "Row %d: %s";
+    private static final String CREATED = "Created";
+    private static final String DUPLICATED = "Duplicated in request";
+    private static final String NOT_READABLE = "Not readable: %s";
+    private static final String CONFLICT = "Conflicts with an existing account";
+    private final AccountRepository accountRepository;
+    private final AccountMapper accountMapper;
+    private final ReportMapper reportMapper;
+    private final AccountInvalidationComponent accountInvalidationComponent;
+    private final PhoneNumberComponent phoneNumberComponent;
+    private final Validator validator;
+    private final JAccountProperties properties;
+
+    @Override
+    public List<ReportResponse> create(Iterator<AccountRequest> requests, Consumer<Account> onCreated) {
+        var chunkSize = properties.getBulk().getChunkSize();
+        List<ReportResponse> reports = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        ReportResponse failure = null;
+        var index = 0;
+
+        while (failure == null) {
+            var next = Try.of(() -> requests.hasNext() ? requests.next() : null);
+
+            if (next.isFailure()) {
+                failure = reportMapper.toReport(String.format(ROW, index, null),
+                        String.format(NOT_READABLE, next.getCause().getMessage()));
+            } else if (next.get() == null) {
+                break;
+            } else {
+                chunk.add(new Row(index++, next.get()));
+            }
+
+            if (chunk.size() >= chunkSize) {
+                reports.addAll(create(chunk, onCreated));
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            reports.addAll(create(chunk, onCreated));
+        }
+
+        if (failure != null) {
+            reports.add(failure);
+        }
+
+        log.info("Bulk created {} of {} accounts", reports.stream().filter(this::isCreated).count(), index);
+
+        return reports;
+    }
+
+    private List<ReportResponse> create(List<Row> rows, Consumer<Account> onCreated) {
+        Map<Integer, ReportResponse> reports = new TreeMap<>();
+        Map<Row, Account> accepted = new LinkedHashMap<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> nicknames = new HashSet<>();
+        phoneNumberComponent.normalizeAll(rows.stream()
+                .map(current -> current.request().getPhoneNumber())
+                .toList());
+
+        for (var row : rows) {
+            var violations = validator.validate(row.request());
+
+            if (!violations.isEmpty()) {
+                reports.put(row.index(), toReport(row, toDetails(violations)));
+                continue;
+            }
+
+            var email = row.request().getEmail().toLowerCase();
+            var nickname = row.request().getNickname().toLowerCase();
+
+            if (emails.contains(email) || nicknames.contains(nickname)) {
+                reports.put(row.index(), toReport(row, DUPLICATED));
+                continue;
+            }
+
+            Try.of(() -> accountMapper.map(row.request()))
+                    .onSuccess(account -> {
+                        emails.add(email);
+                        nicknames.add(nickname);
+                        accepted.put(row, account);
+                    })
+                    .onFailure(ex -> reports.put(row.index(), toReport(row, ex.getMessage())));
+        }
+
+        if (!accepted.isEmpty()) {
+            rejectTaken(accepted, emails, nicknames, reports);
+        }
+
+        if (!accepted.isEmpty()) {
+            insert(accepted, reports, onCreated);
+        }
+
+        return new ArrayList<>(reports.values());
+    }
+
+    private void insert(Map<Row, Account> accepted, Map<Integer, ReportResponse> reports, Consumer<Account> onCreated) {
+        var inserted = Try.of(() -> accountRepository.insertAll(new ArrayList<>(accepted.values())));
+
+        if (inserted.isFailure() && ExceptionUtils.throwableOfType(inserted.getCause(),
+                ConstraintViolationException.class) != null) {
+            insertOneByOne(accepted, reports, onCreated);
+            return;
+        }
+
+        accepted.forEach((row, account) -> reports.put(row.index(), inserted.isSuccess()
+                ? toReport(row, CREATED)
+                : toReport(row, inserted.getCause().getMessage())));
+        inserted.onSuccess(accounts -> accounts.forEach(account -> created(account, onCreated)));
+    }
+
+    /**
+     * A key taken between the lookup and the batch insert rolls the whole chunk back, so its rows are
+     * inserted one at a time and only the ones still conflicting are reported.
+     */
+    private void insertOneByOne(Map<Row, Account> accepted,
+                                Map<Integer, ReportResponse> reports,
+                                Consumer<Account> onCreated) {
+        Map<Row, Account> conflicting = new LinkedHashMap<>();
+        accepted.forEach((row, account) -> Try.of(() -> accountRepository.insertIfAbsent(account))
+                .onSuccess(created -> created.ifPresentOrElse(current -> {
+                    reports.put(row.index(), toReport(row, CREATED));
+                    created(current, onCreated);
+                }, () -> conflicting.put(row, account)))
+                .onFailure(ex -> reports.put(row.index(), toReport(row, ex.getMessage()))));
+
+        if (conflicting.isEmpty()) {
+            return;
+        }
+
+        var emails = conflicting.keySet().stream()
+                .map(current -> current.request().getEmail().toLowerCase())
+                .collect(Collectors.toSet());
+        var nicknames = conflicting.keySet().stream()
+                .map(current -> current.request().getNickname().toLowerCase())
+                .collect(Collectors.toSet());
+        rejectTaken(conflicting, emails, nicknames, reports);
+        conflicting.keySet().forEach(row -> reports.put(row.index(), toReport(row, CONFLICT)));
+    }
+
+    private void created(Account account, Consumer<Account> onCreated) {
+        accountInvalidationComponent.invalidate(account);
+        onCreated.accept(account);
+    }
+
+    private void rejectTaken(Map<Row, Account> accepted,
+                             Set<String> emails,
+                             Set<String> nicknames,
+                             Map<Integer, ReportResponse> reports) {
+        var taken = accountRepository.findKeys(emails, nicknames, AccountStatusCode.DELETED);
+        var takenEmails = taken.stream()
+                .map(AccountKeyProjection::getEmail)
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        var takenNicknames = taken.stream()
+                .map(AccountKeyProjection::getNickname)
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        accepted.entrySet().removeIf(entry -> {
+            var request = entry.getKey().request();
+
+            if (takenEmails.contains(request.getEmail().toLowerCase())) {
+                reports.put(entry.getKey().index(), toReport(entry.getKey(),
+                        String.format(ExceptionConstant.USER_EXISTS, request.getEmail())));
+                return true;
+            }
+
+            if (takenNicknames.contains(request.getNickname().toLowerCase())) {
+                reports.put(entry.getKey().index(), toReport(entry.getKey(),
+                        String.format(ExceptionConstant.NICKNAME_TAKEN, request.getNickname())));
+                return true;
+            }
+
+            return false;
+        });
+    }
+
+    private String toDetails(Set<ConstraintViolation<AccountRequest>> violations) {
+        return violations.stream()
+                .map(current -> current.getPropertyPath() + " " + current.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private ReportResponse toReport(Row row, String details) {
+        return reportMapper.toReport(String.format(ROW, row.index(), row.request().getNickname()), details);
+    }
+
+    private boolean isCreated(ReportResponse report) {
+        return CREATED.equals(report.getDetails());
+    }
+
+    private record Row(int index, AccountRequest request) {
+    }
+}
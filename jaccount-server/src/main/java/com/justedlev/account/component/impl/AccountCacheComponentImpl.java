@@ -0,0 +1,168 @@
+package com.justedlev.account.component.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.justedlev.account.common.mapper.AccountMapper;
+import com.justedlev.account.component.AccountCacheComponent;
+import com.justedlev.account.component.PresenceComponent;
+import com.justedlev.account.model.Mode;
+import com.justedlev.account.model.event.AccountInvalidationEvent;
+import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.entity.Account;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Besides the response caches, evicts the Hibernate second level cache of {@link Account}.
+ * Native writes bypass it, and the other replicas only learn about changes through {@link #evict}.
+ */
+@Component
+public class AccountCacheComponentImpl implements AccountCacheComponent {
+    private final AccountMapper accountMapper;
+    private final PresenceComponent presenceComponent;
+    private final SessionFactoryImplementor sessionFactory;
+    /**
+     * Lower cased nickname or email to account id, an empty value remembers a miss.
+     */
+    private final Cache<String, Optional<UUID>> nicknames;
+    private final Cache<String, Optional<UUID>> emails;
+    private final Cache<UUID, CachedAccount> accounts;
+
+    public AccountCacheComponentImpl(AccountMapper accountMapper,
+                                     PresenceComponent presenceComponent,
+                                     JAccountProperties properties,
+                                     EntityManagerFactory entityManagerFactory,
+                                     MeterRegistry meterRegistry) {
+        this.accountMapper = accountMapper;
+        this.presenceComponent = presenceComponent;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.nicknames = CaffeineCacheMetrics.monitor(meterRegistry, buildCache(properties), "account.nicknames");
+        this.emails = CaffeineCacheMetrics.monitor(meterRegistry, buildCache(properties), "account.emails");
+        this.accounts = CaffeineCacheMetrics.monitor(meterRegistry, buildCache(properties), "account.responses");
+    }
+
+    @Override
+    public Optional<AccountResponse> getByNickname(String nickname, Supplier<Optional<Account>> loader) {
+        return get(nicknames, nickname, AccountResponse::getNickname, loader)
+                .map(this::withPresence);
+    }
+
+    @Override
+    public Optional<AccountResponse> getByEmail(String email, Supplier<Optional<Account>> loader) {
+        return get(emails, email, AccountResponse::getEmail, loader)
+                .map(this::withPresence);
+    }
+
+    @Override
+    public Optional<UUID> getIdByNickname(String nickname, Supplier<Optional<Account>> loader) {
+        return get(nicknames, nickname, AccountResponse::getNickname, loader)
+                .map(CachedAccount::id);
+    }
+
+    @Override
+    public void evict(AccountInvalidationEvent event) {
+        Stream.ofNullable(event.getNicknames())
+                .flatMap(Collection::stream)
+                .map(String::toLowerCase)
+                .forEach(nickname -> {
+                    nicknames.invalidate(nickname);
+                    evictNaturalId(nickname);
+                });
+        Stream.ofNullable(event.getEmails())
+                .flatMap(Collection::stream)
+                .map(String::toLowerCase)
+                .forEach(emails::invalidate);
+        Optional.ofNullable(event.getId())
+                .ifPresent(id -> {
+                    accounts.invalidate(id);
+                    sessionFactory.getCache().evictEntityData(Account.class, id);
+                });
+    }
+
+    @Override
+    public void evict(Collection<UUID> ids) {
+        accounts.invalidateAll(ids);
+        ids.forEach(id -> sessionFactory.getCache().evictEntityData(Account.class, id));
+    }
+
+    private Optional<CachedAccount> get(Cache<String, Optional<UUID>> keys,
+                                        String key,
+                                        Function<AccountResponse, String> keyExtractor,
+                                        Supplier<Optional<Account>> loader) {
+        if (StringUtils.isBlank(key)) {
+            return Optional.empty();
+        }
+
+        var normalized = key.toLowerCase();
+        var id = keys.getIfPresent(normalized);
+
+        if (id != null) {
+            if (id.isEmpty()) {
+                return Optional.empty();
+            }
+
+            var cached = Optional.ofNullable(accounts.getIfPresent(id.get()))
+                    .filter(current -> normalized.equalsIgnoreCase(keyExtractor.apply(current.response())));
+
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
+
+        var loaded = loader.get()
+                .map(current -> new CachedAccount(current.getId(), current.getModeAt(), accountMapper.map(current)));
+        keys.put(normalized, loaded.map(CachedAccount::id));
+        loaded.ifPresent(current -> accounts.put(current.id(), current));
+
+        return loaded;
+    }
+
+    /**
+     * Drops the cached resolution of a nickname, a cache key needs a session but no connection is taken.
+     */
+    private void evictNaturalId(String nickname) {
+        var persister = sessionFactory.getMetamodel().entityPersister(Account.class);
+        var access = persister.getNaturalIdCacheAccessStrategy();
+
+        try (var session = sessionFactory.openSession()) {
+            access.evict(access.generateCacheKey(
+                    new Object[]{nickname}, persister, (SharedSessionContractImplementor) session));
+        }
+    }
+
+    private AccountResponse withPresence(CachedAccount cached) {
+        return presenceComponent.getMode(cached.id())
+                .filter(current -> cached.modeAt() == null || current.getModeAt().after(cached.modeAt()))
+                .map(Mode::getModeType)
+                .map(current -> cached.response()
+                        .toBuilder()
+                        .mode(current)
+                        .build())
+                .orElse(cached.response());
+    }
+
+    private <K, V> Cache<K, V> buildCache(JAccountProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getSize())
+                .expireAfterWrite(properties.getCache().getTtl())
+                .recordStats()
+                .build();
+    }
+
+    private record CachedAccount(UUID id, Timestamp modeAt, AccountResponse response) {
+    }
+}
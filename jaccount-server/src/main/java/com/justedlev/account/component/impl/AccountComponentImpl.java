@@ -1,24 +1,36 @@
 package com.justedlev.account.component.impl;
 
 import com.justedlev.account.common.mapper.AccountMapper;
+import com.justedlev.account.component.AccountCacheComponent;
 import com.justedlev.account.component.AccountComponent;
+import com.justedlev.account.component.AccountInvalidationComponent;
+import com.justedlev.account.component.PageCounterComponent;
+import com.justedlev.account.component.PhoneNumberComponent;
+import com.justedlev.account.component.model.CountedPage;
 import com.justedlev.account.constant.ExceptionConstant;
+import com.justedlev.account.enumeration.AccountField;
 import com.justedlev.account.enumeration.AccountStatusCode;
+import com.justedlev.account.enumeration.CountType;
 import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.enumeration.PhoneMatch;
 import com.justedlev.account.model.Avatar;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.properties.JAccountProperties;
 import com.justedlev.account.repository.AccountRepository;
+import com.justedlev.account.repository.custom.filter.AccountCursor;
 import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.custom.patch.AccountPatch;
 import com.justedlev.account.repository.entity.Account;
-import com.justedlev.account.repository.entity.Account_;
-import com.justedlev.account.repository.specification.AndSpecification;
+import com.justedlev.account.repository.projection.AccountProjection;
 import com.justedlev.storage.client.JStorageFeignClient;
+import io.vavr.control.Try;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,17 +38,24 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityNotFoundException;
 import java.util.*;
-
-import static com.justedlev.account.repository.specification.QueryOperator.EQUAL;
-import static com.justedlev.account.repository.specification.QueryOperator.NOT_NULL;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
 @RequiredArgsConstructor
 public class AccountComponentImpl implements AccountComponent {
+    /**
+     * Inserts that conflict without a live account holding the email or nickname, e.g. on the primary key,
+     * on the activation code or with a row deleted in the meantime, are repeated with fresh generated values.
+     */
+    private static final int CREATE_ATTEMPTS = 3;
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
     private final JStorageFeignClient storageFeignClient;
-    private final ModelMapper baseMapper;
+    private final PageCounterComponent pageCounterComponent;
+    private final AccountCacheComponent accountCacheComponent;
+    private final AccountInvalidationComponent accountInvalidationComponent;
+    private final PhoneNumberComponent phoneNumberComponent;
+    private final JAccountProperties.Search searchProperties;
 
     @Override
     public List<Account> getByFilter(AccountFilter filter) {
@@ -46,29 +65,29 @@ public class AccountComponentImpl implements AccountComponent {
     }
 
     @Override
-    public Page<Account> getPageByFilter(AccountFilter filter, Pageable pageable) {
-        return accountRepository.findByFilter(filter, pageable);
+    public CountedPage<AccountProjection> getPageByFilter(AccountFilter filter,
+                                                          Pageable pageable,
+                                                          CountType countType,
+                                                          Set<AccountField> fields) {
+        var counted = new AtomicReference<>(CountType.EXACT);
+        var page = accountRepository.findProjectionsByFilter(filter, pageable, () -> {
+            var count = pageCounterComponent.count(filter, countType);
+            counted.set(count.type());
+
+            return count.total();
+        }, fields);
+
+        return new CountedPage<>(page, counted.get());
     }
 
     @Override
-    public Page<Account> getPage(Pageable pageable) {
-        return accountRepository.findAll(pageable);
+    public CountedPage<AccountProjection> getPage(Pageable pageable, CountType countType, Set<AccountField> fields) {
+        return getPageByFilter(new AccountFilter(), pageable, countType, fields);
     }
 
     @Override
-    public Account confirm(String activationCode) {
-        validateActivationCode(activationCode);
-        var filter = AccountFilter.builder()
-                .activationCodes(Set.of(activationCode))
-                .statuses(Set.of(AccountStatusCode.UNCONFIRMED))
-                .build();
-        var account = accountRepository.findByFilter(filter)
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> new EntityNotFoundException("Already activated"));
-        account.setStatus(AccountStatusCode.ACTUAL);
-
-        return save(account);
+    public List<Account> getByCursor(AccountFilter filter, AccountCursor cursor, int limit) {
+        return accountRepository.findByFilter(filter, cursor, limit);
     }
 
     @Override
@@ -90,6 +109,31 @@ public class AccountComponentImpl implements AccountComponent {
         return update(account, request);
     }
 
+    @Override
+    public Account patch(String nickname, AccountPatch patch) {
+        if (patch.isEmpty()) {
+            return getByNickname(nickname)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            String.format(ExceptionConstant.USER_NOT_EXISTS, nickname)));
+        }
+
+        var patched = Try.of(() -> accountRepository.patch(nickname, patch))
+                .getOrElseThrow(ex -> toConflictException(ex, patch))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format(ExceptionConstant.USER_NOT_EXISTS, nickname)));
+        accountInvalidationComponent.invalidate(patched);
+
+        if (!nickname.equalsIgnoreCase(patched.getNickname())) {
+            accountInvalidationComponent.invalidate(Account.builder()
+                    .id(patched.getId())
+                    .nickname(nickname)
+                    .email(patched.getEmail())
+                    .build());
+        }
+
+        return patched;
+    }
+
     @Override
     public Account deactivate(String nickname) {
         return null;
@@ -102,30 +146,51 @@ public class AccountComponentImpl implements AccountComponent {
 
     @Override
     public Account create(AccountRequest request) {
-        return getByEmail(request.getEmail())
-                .or(() -> getByNickname(request.getNickname()))
-                .filter(current -> !current.getStatus().equals(AccountStatusCode.DELETED))
-                .orElse(accountMapper.map(request));
+        for (var attempt = 1; attempt <= CREATE_ATTEMPTS; attempt++) {
+            var created = accountRepository.insertIfAbsent(accountMapper.map(request));
+
+            if (created.isPresent()) {
+                accountInvalidationComponent.invalidate(created.get());
+
+                return created.get();
+            }
+
+            var taken = findTakenException(request);
+
+            if (taken.isPresent()) {
+                throw taken.get();
+            }
+        }
+
+        throw new IllegalStateException(String.format("Failed to create account '%s' after %d attempts",
+                request.getNickname(), CREATE_ATTEMPTS));
     }
 
     @Override
     public Account save(Account entity) {
-        return Optional.ofNullable(entity)
+        var saved = Optional.ofNullable(entity)
                 .map(accountRepository::save)
                 .orElse(null);
+        Optional.ofNullable(saved)
+                .ifPresent(accountInvalidationComponent::invalidate);
+
+        return saved;
     }
 
     @Override
     public List<Account> saveAll(List<Account> entities) {
-        return Optional.ofNullable(entities)
+        var saved = Optional.ofNullable(entities)
                 .filter(CollectionUtils::isNotEmpty)
                 .map(accountRepository::saveAll)
                 .orElse(Collections.emptyList());
+        saved.forEach(accountInvalidationComponent::invalidate);
+
+        return saved;
     }
 
     @Override
     public Account update(Account entity, AccountRequest request) {
-        accountMapper.getMapper().map(request, entity);
+        accountMapper.map(request, entity);
 
         return save(entity);
     }
@@ -145,25 +210,37 @@ public class AccountComponentImpl implements AccountComponent {
 
     @Override
     public Optional<Account> getByNickname(String nickname) {
-        var specification = AndSpecification
-                .<Account>where(Account_.NICKNAME, EQUAL, nickname)
-                .and(Account_.EMAIL, NOT_NULL)
-                .and(Account_.ID, NOT_NULL)
-                .build();
+        return Optional.ofNullable(nickname)
+                .filter(StringUtils::isNotBlank)
+                .flatMap(current -> accountRepository.findByLiveNickname(current)
+                        .or(() -> accountRepository.findByNickname(current, PageRequest.ofSize(1))
+                                .stream()
+                                .findFirst()));
+    }
 
-        return accountRepository.findAll(specification)
-                .stream()
-                .max(Comparator.comparing(Account::getCreatedAt));
-//        return Optional.ofNullable(nickname)
-//                .filter(StringUtils::isNotBlank)
-//                .map(Set::of)
-//                .map(current -> AccountFilter.builder()
-//                        .nicknames(current)
-//                        .build())
-//                .map(this::getByFilter)
-//                .stream()
-//                .flatMap(Collection::stream)
-//                .max(Comparator.comparing(Account::getCreatedAt));
+    @Override
+    public List<Account> getByPhoneNumber(String phoneNumber, PhoneMatch match) {
+        if (StringUtils.isBlank(phoneNumber)) {
+            return List.of();
+        }
+
+        var limit = PageRequest.ofSize(searchProperties.getPhoneLimit());
+
+        if (match == PhoneMatch.PREFIX) {
+            var digits = StringUtils.getDigits(phoneNumber);
+
+            return digits.isEmpty() ? List.of() : accountRepository.findByPhoneDigits(digits + "%", limit);
+        }
+
+        var phone = Try.of(() -> phoneNumberComponent.normalize(phoneNumber))
+                .getOrElseThrow(() -> new IllegalArgumentException(
+                        String.format(ExceptionConstant.PHONE_NUMBER_NOT_VALID, phoneNumber)));
+
+        return accountRepository.findByPhoneNumber(
+                phone.getCountryCode().shortValue(),
+                phone.getNational(),
+                limit
+        );
     }
 
     @Override
@@ -178,7 +255,7 @@ public class AccountComponentImpl implements AccountComponent {
         storageFeignClient.upload(List.of(photo))
                 .stream()
                 .findFirst()
-                .map(current -> baseMapper.map(current, Avatar.class))
+                .map(current -> accountMapper.toAvatar(current.getFileName(), current.getUrl()))
                 .ifPresent(account::setAvatar);
 
         return save(account);
@@ -198,9 +275,47 @@ public class AccountComponentImpl implements AccountComponent {
                 .findFirst();
     }
 
-    private void validateActivationCode(String activationCode) {
-        if (StringUtils.isBlank(activationCode))
-            throw new IllegalArgumentException("Code not valid");
+    /**
+     * Only reached after a conflict, tells whether a live account holds the email or the nickname.
+     *
+     * @return empty when neither is taken, the conflict was on another unique key
+     */
+    private Optional<EntityExistsException> findTakenException(AccountRequest request) {
+        var keys = accountRepository.findKeys(
+                Set.of(request.getEmail().toLowerCase()),
+                Set.of(request.getNickname().toLowerCase()),
+                AccountStatusCode.DELETED);
+
+        if (keys.stream().anyMatch(current -> current.getEmail().equalsIgnoreCase(request.getEmail()))) {
+            return Optional.of(new EntityExistsException(
+                    String.format(ExceptionConstant.USER_EXISTS, request.getEmail())));
+        }
+
+        if (keys.stream().anyMatch(current -> current.getNickname().equalsIgnoreCase(request.getNickname()))) {
+            return Optional.of(new EntityExistsException(
+                    String.format(ExceptionConstant.NICKNAME_TAKEN, request.getNickname())));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * A patched email or nickname may collide with another live account on the unique indexes.
+     */
+    private RuntimeException toConflictException(Throwable ex, AccountPatch patch) {
+        var constraint = Optional.ofNullable(ExceptionUtils.throwableOfType(ex, ConstraintViolationException.class))
+                .map(ConstraintViolationException::getConstraintName)
+                .orElse(StringUtils.EMPTY);
+
+        if (constraint.contains("email")) {
+            return new EntityExistsException(String.format(ExceptionConstant.USER_EXISTS, patch.getEmail()));
+        }
+
+        if (constraint.contains("nick_name")) {
+            return new EntityExistsException(String.format(ExceptionConstant.NICKNAME_TAKEN, patch.getNickname()));
+        }
+
+        return ex instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(ex);
     }
 
     private boolean isNicknameTaken(String nickname) {
@@ -208,10 +323,7 @@ public class AccountComponentImpl implements AccountComponent {
             return false;
         }
 
-        var filter = AccountFilter.builder()
-                .nicknames(Set.of(nickname))
-                .build();
-
-        return CollectionUtils.isNotEmpty(getByFilter(filter));
+        return accountCacheComponent.getByNickname(nickname, () -> getByNickname(nickname))
+                .isPresent();
     }
 }
@@ -0,0 +1,122 @@
+package com.justedlev.account.component.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.justedlev.account.common.mapper.AccountMapper;
+import com.justedlev.account.component.AccountExportComponent;
+import com.justedlev.account.enumeration.ExportFormat;
+import com.justedlev.account.model.PhoneNumberInfo;
+import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.AccountRepository;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes accounts to the output while the database cursor is being read, one row at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountExportComponentImpl implements AccountExportComponent {
+    private static final String LINE_SEPARATOR = "\n";
+    private static final Map<String, Function<AccountResponse, Object>> CSV_COLUMNS = csvColumns();
+    private final AccountRepository accountRepository;
+    private final AccountMapper accountMapper;
+    private final ObjectMapper objectMapper;
+    private final JAccountProperties properties;
+
+    @Override
+    @SneakyThrows
+    public long export(AccountFilter filter, ExportFormat format, OutputStream output) {
+        var fetchSize = properties.getExport().getFetchSize();
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long count;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS.keySet()) + LINE_SEPARATOR);
+            count = accountRepository.streamByFilter(filter, fetchSize, account -> writeCsv(writer,
+                    accountMapper.map(account)));
+        } else {
+            var sequence = objectMapper.writerFor(AccountResponse.class)
+                    .withRootValueSeparator(LINE_SEPARATOR)
+                    .writeValues(writer);
+            count = accountRepository.streamByFilter(filter, fetchSize, account -> writeJson(sequence,
+                    accountMapper.map(account)));
+            sequence.flush();
+        }
+
+        writer.flush();
+        log.info("Exported {} accounts as {}", count, format);
+
+        return count;
+    }
+
+    @SneakyThrows
+    private void writeJson(SequenceWriter sequence, AccountResponse account) {
+        sequence.write(account);
+    }
+
+    @SneakyThrows
+    private void writeCsv(Writer writer, AccountResponse account) {
+        writer.write(CSV_COLUMNS.values()
+                .stream()
+                .map(column -> column.apply(account))
+                .map(this::toCsvValue)
+                .collect(Collectors.joining(",")) + LINE_SEPARATOR);
+    }
+
+    private String toCsvValue(Object value) {
+        var text = Objects.toString(value, "");
+
+        if (StringUtils.containsAny(text, ',', '"', '\n', '\r')) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+
+        return text;
+    }
+
+    private static Map<String, Function<AccountResponse, Object>> csvColumns() {
+        Map<String, Function<AccountResponse, Object>> columns = new LinkedHashMap<>();
+        columns.put("nickname", AccountResponse::getNickname);
+        columns.put("email", AccountResponse::getEmail);
+        columns.put("firstName", AccountResponse::getFirstName);
+        columns.put("lastName", AccountResponse::getLastName);
+        columns.put("birthDate", account -> toInstant(account.getBirthDate()));
+        columns.put("gender", AccountResponse::getGender);
+        columns.put("phoneNumber", account -> Optional.ofNullable(account.getPhoneNumberInfo())
+                .map(PhoneNumberInfo::getInternational)
+                .orElse(null));
+        columns.put("status", AccountResponse::getStatus);
+        columns.put("mode", AccountResponse::getMode);
+        columns.put("registrationDate", account -> toInstant(account.getRegistrationDate()));
+        columns.put("avatarUrl", AccountResponse::getAvatarUrl);
+
+        return columns;
+    }
+
+    private static Instant toInstant(Date date) {
+        return Optional.ofNullable(date)
+                .map(Date::getTime)
+                .map(Instant::ofEpochMilli)
+                .orElse(null);
+    }
+}
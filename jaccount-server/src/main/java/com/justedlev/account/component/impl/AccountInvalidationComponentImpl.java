@@ -0,0 +1,181 @@
+package com.justedlev.account.component.impl;
+
+import com.justedlev.account.component.AccountCacheComponent;
+import com.justedlev.account.component.AccountInvalidationBus;
+import com.justedlev.account.component.AccountInvalidationComponent;
+import com.justedlev.account.component.event.PresenceFlushedEvent;
+import com.justedlev.account.model.event.AccountInvalidationEvent;
+import com.justedlev.account.model.event.AccountInvalidationMessage;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.entity.Account;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Evicts the local cache and queues the same eviction for the other replicas, once the current transaction
+ * has committed, or right away outside of one. Evicting earlier would let a concurrent lookup cache
+ * the state the transaction is about to replace.
+ * Queued events are coalesced by account id and sent in batches by {@link #flush()}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountInvalidationComponentImpl implements AccountInvalidationComponent {
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<UUID, AccountInvalidationEvent> pending = new ConcurrentHashMap<>();
+    private final AccountCacheComponent accountCacheComponent;
+    private final AccountInvalidationBus invalidationBus;
+    private final JAccountProperties properties;
+
+    @PostConstruct
+    private void init() {
+        invalidationBus.subscribe(this::receive);
+    }
+
+    @Override
+    public void invalidate(Account account) {
+        var event = AccountInvalidationEvent.builder()
+                .id(account.getId())
+                .nicknames(keysOf(account.getNickname()))
+                .emails(keysOf(account.getEmail()))
+                .version(System.currentTimeMillis())
+                .build();
+        afterCommit(() -> {
+            accountCacheComponent.evict(event);
+            enqueue(event);
+        });
+    }
+
+    @Override
+    public void invalidate(Collection<UUID> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return;
+        }
+
+        var invalidated = List.copyOf(ids);
+        var version = System.currentTimeMillis();
+        afterCommit(() -> {
+            accountCacheComponent.evict(invalidated);
+            invalidated.forEach(id -> enqueue(AccountInvalidationEvent.builder()
+                    .id(id)
+                    .version(version)
+                    .build()));
+        });
+    }
+
+    /**
+     * Presence depends on the caches through the mappers, so flushed modes arrive as an event.
+     */
+    @EventListener
+    public void onPresenceFlushed(PresenceFlushedEvent event) {
+        invalidate(event.ids());
+    }
+
+    @Override
+    public void flush() {
+        var batchSize = properties.getInvalidation().getBatchSize();
+        List<AccountInvalidationEvent> batch = new ArrayList<>(batchSize);
+
+        for (var id : pending.keySet()) {
+            Optional.ofNullable(pending.remove(id))
+                    .ifPresent(batch::add);
+
+            if (batch.size() >= batchSize) {
+                send(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void receive(AccountInvalidationMessage message) {
+        if (origin.equals(message.getOrigin()) || CollectionUtils.isEmpty(message.getEvents())) {
+            return;
+        }
+
+        message.getEvents().forEach(accountCacheComponent::evict);
+        log.debug("Evicted {} accounts invalidated by {}", message.getEvents().size(), message.getOrigin());
+    }
+
+    private void send(List<AccountInvalidationEvent> events) {
+        var message = AccountInvalidationMessage.builder()
+                .origin(origin)
+                .events(events)
+                .build();
+
+        try {
+            invalidationBus.send(message);
+        } catch (RuntimeException ex) {
+            events.forEach(this::enqueue);
+            log.error("Failed to publish {} account invalidations : {}", events.size(), ex.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private void enqueue(AccountInvalidationEvent event) {
+        if (event.getId() == null) {
+            return;
+        }
+
+        pending.merge(event.getId(), event, this::merge);
+    }
+
+    /**
+     * Keeps every key of both events, a rename queues the new nickname and then the old one for the same id.
+     */
+    private AccountInvalidationEvent merge(AccountInvalidationEvent current, AccountInvalidationEvent next) {
+        return AccountInvalidationEvent.builder()
+                .id(current.getId())
+                .nicknames(union(current.getNicknames(), next.getNicknames()))
+                .emails(union(current.getEmails(), next.getEmails()))
+                .version(Math.max(current.getVersion(), next.getVersion()))
+                .build();
+    }
+
+    private Set<String> keysOf(String key) {
+        return Stream.ofNullable(key)
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> union(Set<String> left, Set<String> right) {
+        return Stream.of(left, right)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+    }
+}
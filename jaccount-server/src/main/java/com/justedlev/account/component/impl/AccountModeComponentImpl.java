@@ -1,55 +1,99 @@
 package com.justedlev.account.component.impl;
 
 import com.justedlev.account.common.mapper.AccountMapper;
+import com.justedlev.account.component.AccountInvalidationComponent;
 import com.justedlev.account.component.AccountModeComponent;
 import com.justedlev.account.enumeration.ModeType;
 import com.justedlev.account.model.request.UpdateAccountModeRequest;
 import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.model.response.UpdateAccountModeResponse;
 import com.justedlev.account.properties.JAccountProperties;
 import com.justedlev.account.repository.AccountRepository;
-import com.justedlev.account.repository.custom.filter.AccountFilter;
-import com.justedlev.account.repository.entity.Account;
+import com.justedlev.account.repository.custom.filter.AccountModeFilter;
+import com.justedlev.account.util.DateTimeUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AccountModeComponentImpl implements AccountModeComponent {
+    private static final long HASH_SPACE = 1L << Integer.SIZE;
     private final JAccountProperties properties;
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
+    private final AccountInvalidationComponent accountInvalidationComponent;
 
     @Override
-    public List<AccountResponse> updateMode(UpdateAccountModeRequest request) {
-        var activeAccounts = getActiveAccount(request);
-        activeAccounts.forEach(current -> current.setMode(request.getToMode()));
-        var res = accountRepository.saveAll(activeAccounts);
-        log.info("Changed {} inactive accounts to mode : {}", activeAccounts.size(), request.getToMode());
-
-        return res.parallelStream()
-                .map(accountMapper::map)
-                .toList();
+    public UpdateAccountModeResponse updateMode(UpdateAccountModeRequest request) {
+        return updateMode(request, 0, 1);
     }
 
-    private List<Account> getActiveAccount(UpdateAccountModeRequest request) {
-        var filter = AccountFilter.builder()
-                .modes(request.getFromModes())
+    @Override
+    public UpdateAccountModeResponse updateMode(UpdateAccountModeRequest request, int shard, int shards) {
+        var width = HASH_SPACE / shards;
+        var hashFrom = Integer.MIN_VALUE + shard * width;
+        var hashTo = shard == shards - 1 ? Integer.MAX_VALUE : hashFrom + width - 1;
+        var filter = AccountModeFilter.builder()
+                .modes(getFromModes(request))
+                .modeAtTo(getModeAtTo(request.getToMode()))
+                .limit(properties.getSweeper().getChunkSize())
+                .hashFrom((int) hashFrom)
+                .hashTo((int) hashTo)
                 .build();
-        var now = System.currentTimeMillis();
-        var duration = getDuration(request.getToMode());
+        var withAccounts = Boolean.TRUE.equals(request.getWithAccounts());
+        List<AccountResponse> accounts = withAccounts ? new ArrayList<>() : null;
+        var count = 0L;
+        List<UUID> changed;
+
+        do {
+            changed = accountRepository.updateMode(filter, request.getToMode());
+            count += changed.size();
+            accountInvalidationComponent.invalidate(changed);
+
+            if (withAccounts && CollectionUtils.isNotEmpty(changed)) {
+                accountRepository.findAllById(changed)
+                        .stream()
+                        .map(accountMapper::map)
+                        .forEach(accounts::add);
+            }
+        } while (changed.size() >= filter.getLimit());
 
-        return accountRepository.findByFilter(filter)
-                .parallelStream()
-                .filter(current -> filterOutByModeAt(current, now, duration))
-                .toList();
+        log.info("Changed {} inactive accounts to mode : {}", count, request.getToMode());
+
+        return UpdateAccountModeResponse.builder()
+                .mode(request.getToMode())
+                .count(count)
+                .accounts(accounts)
+                .build();
+    }
+
+    /**
+     * No from modes means every mode, as with the former filter that had no mode condition at all.
+     */
+    private Collection<ModeType> getFromModes(UpdateAccountModeRequest request) {
+        if (CollectionUtils.isNotEmpty(request.getFromModes())) {
+            return request.getFromModes();
+        }
+
+        return List.of(ModeType.values());
+    }
+
+    /**
+     * Same clock as the mode_at written by {@link AccountRepository#updateMode}.
+     */
+    private Timestamp getModeAtTo(ModeType modeType) {
+        return Timestamp.valueOf(DateTimeUtils.nowTimestamp().toLocalDateTime().minus(getDuration(modeType)));
     }
 
     private Duration getDuration(ModeType modeType) {
@@ -59,12 +103,4 @@ public class AccountModeComponentImpl implements AccountModeComponent {
             default -> Duration.of(1, ChronoUnit.MINUTES);
         };
     }
-
-    private boolean filterOutByModeAt(Account account, long now, Duration duration) {
-        return Optional.ofNullable(account.getModeAt())
-                .map(Date::getTime)
-                .map(current -> now - current)
-                .map(current -> current >= duration.toMillis())
-                .orElse(Boolean.FALSE);
-    }
 }
@@ -0,0 +1,37 @@
+package com.justedlev.account.component.impl;
+
+import com.justedlev.account.component.AccountInvalidationBus;
+import com.justedlev.account.model.event.AccountInvalidationMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Publishes on a fanout exchange, every replica reads it through its own anonymous queue.
+ */
+@RequiredArgsConstructor
+public class AmqpAccountInvalidationBus implements AccountInvalidationBus {
+    private final List<Consumer<AccountInvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+    private final AmqpTemplate amqpTemplate;
+    private final FanoutExchange exchange;
+
+    @Override
+    public void send(AccountInvalidationMessage message) {
+        amqpTemplate.convertAndSend(exchange.getName(), "", message);
+    }
+
+    @Override
+    public void subscribe(Consumer<AccountInvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @RabbitListener(queues = "#{accountInvalidationQueue.name}")
+    public void receive(AccountInvalidationMessage message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+}
@@ -0,0 +1,67 @@
+package com.justedlev.account.component.impl;
+
+import com.justedlev.account.component.AccountInvalidationComponent;
+import com.justedlev.account.component.ArchiveComponent;
+import com.justedlev.account.enumeration.AccountStatusCode;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.AccountRepository;
+import com.justedlev.account.util.DateTimeUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the accounts table to live accounts. Rows are moved in small batches, each one a single
+ * DELETE ... RETURNING feeding an INSERT, locked with SKIP LOCKED so replicas running at the same time
+ * split the work instead of waiting on each other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArchiveComponentImpl implements ArchiveComponent {
+    private final JAccountProperties.Archive properties;
+    private final AccountRepository accountRepository;
+    private final AccountInvalidationComponent accountInvalidationComponent;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public long archive() {
+        var deleted = Try.of(() -> archive(AccountStatusCode.DELETED, properties.getDeletedRetention(),
+                        accountRepository::archiveDeleted))
+                .onFailure(ex -> log.error("Failed to archive deleted accounts : {}", ex.getMessage()))
+                .getOrElse(0L);
+        var unconfirmed = Try.of(() -> archive(AccountStatusCode.UNCONFIRMED, properties.getUnconfirmedRetention(),
+                        accountRepository::archiveUnconfirmed))
+                .onFailure(ex -> log.error("Failed to archive unconfirmed accounts : {}", ex.getMessage()))
+                .getOrElse(0L);
+        log.info("Archived {} deleted and {} unconfirmed accounts", deleted, unconfirmed);
+
+        return deleted + unconfirmed;
+    }
+
+    private long archive(AccountStatusCode status,
+                         Duration retention,
+                         BiFunction<Timestamp, Integer, List<UUID>> mover) {
+        var before = Timestamp.valueOf(DateTimeUtils.nowTimestamp().toLocalDateTime().minus(retention));
+        var counter = meterRegistry.counter("account.archive.moved", "status", status.name());
+        var count = 0L;
+        List<UUID> moved;
+
+        do {
+            moved = mover.apply(before, properties.getBatchSize());
+            count += moved.size();
+            counter.increment(moved.size());
+            accountInvalidationComponent.invalidate(moved);
+        } while (moved.size() >= properties.getBatchSize());
+
+        return count;
+    }
+}
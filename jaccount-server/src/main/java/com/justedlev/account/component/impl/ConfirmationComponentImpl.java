@@ -0,0 +1,62 @@
+package com.justedlev.account.component.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.justedlev.account.component.AccountInvalidationComponent;
+import com.justedlev.account.component.ConfirmationComponent;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.List;
+
+/**
+ * Confirms with one conditional UPDATE, so of two clicks on the same link only one can win.
+ * Codes confirmed by this replica are remembered for a while and repeated clicks are turned away
+ * without a round trip, other replicas find out from the UPDATE matching no row.
+ */
+@Component
+public class ConfirmationComponentImpl implements ConfirmationComponent {
+    private static final String ALREADY_ACTIVATED = "Already activated";
+    private final AccountRepository accountRepository;
+    private final AccountInvalidationComponent accountInvalidationComponent;
+    /**
+     * Confirmed activation code to nickname.
+     */
+    private final Cache<String, String> confirmed;
+
+    public ConfirmationComponentImpl(AccountRepository accountRepository,
+                                     AccountInvalidationComponent accountInvalidationComponent,
+                                     JAccountProperties.Confirmation properties,
+                                     MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.accountInvalidationComponent = accountInvalidationComponent;
+        this.confirmed = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build(), "account.confirmed.codes");
+    }
+
+    @Override
+    public String confirm(String activationCode) {
+        if (StringUtils.isBlank(activationCode)) {
+            throw new IllegalArgumentException("Code not valid");
+        }
+
+        if (confirmed.getIfPresent(activationCode) != null) {
+            throw new EntityNotFoundException(ALREADY_ACTIVATED);
+        }
+
+        var account = accountRepository.confirm(activationCode)
+                .orElseThrow(() -> new EntityNotFoundException(ALREADY_ACTIVATED));
+        confirmed.put(activationCode, account.nickname());
+        accountInvalidationComponent.invalidate(List.of(account.id()));
+
+        return account.nickname();
+    }
+}
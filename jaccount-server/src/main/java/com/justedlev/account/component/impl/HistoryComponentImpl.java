@@ -2,6 +2,7 @@ package com.justedlev.account.component.impl;
 
 import com.justedlev.account.common.mapper.AccountMapper;
 import com.justedlev.account.component.HistoryComponent;
+import com.justedlev.account.enumeration.AccountField;
 import com.justedlev.account.model.request.HistoryRequest;
 import com.justedlev.account.model.response.AccountHistoryResponse;
 import com.justedlev.account.model.response.AccountResponse;
@@ -9,11 +10,15 @@ import com.justedlev.account.repository.AccountRepository;
 import com.justedlev.account.repository.custom.filter.AccountFilter;
 import com.justedlev.common.entity.BaseEntity_;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections.CollectionUtils;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -23,20 +28,15 @@ public class HistoryComponentImpl implements HistoryComponent {
     private final AccountMapper accountMapper;
 
     @Override
-    public List<AccountHistoryResponse> getAccounts(HistoryRequest request) {
+    public List<AccountHistoryResponse> getAccounts(HistoryRequest request, Set<AccountField> fields) {
         var page = PageRequest.of(
                 request.getPageRequest().getPage() - 1,
                 request.getPageRequest().getSize(),
                 Sort.Direction.DESC,
                 BaseEntity_.CREATED_AT
         );
-        var filter = AccountFilter.builder()
-                .emails(request.getEmails())
-                .build();
-        var accounts = accountRepository.findByFilter(filter, page)
-                .getContent()
+        var accounts = findAccounts(request, page, fields)
                 .parallelStream()
-                .map(accountMapper::map)
                 .collect(Collectors.groupingBy(AccountResponse::getEmail));
 
         return accounts.entrySet().parallelStream()
@@ -46,4 +46,39 @@ public class HistoryComponentImpl implements HistoryComponent {
                         .build())
                 .toList();
     }
+
+    /**
+     * Archived accounts are read in full, only live ones are narrowed down to the selected fields.
+     */
+    private List<AccountResponse> findAccounts(HistoryRequest request, Pageable page, Set<AccountField> fields) {
+        if (Boolean.TRUE.equals(request.getIncludeArchived()) && CollectionUtils.isNotEmpty(request.getEmails())) {
+            return accountRepository.findWithArchivedByEmails(request.getEmails(), page)
+                    .stream()
+                    .map(accountMapper::map)
+                    .toList();
+        }
+
+        var filter = AccountFilter.builder()
+                .emails(request.getEmails())
+                .build();
+
+        return accountRepository.findProjectionsByFilter(filter, page, withEmail(fields))
+                .stream()
+                .map(accountMapper::map)
+                .toList();
+    }
+
+    /**
+     * Accounts are grouped by email, so it is read even when not selected.
+     */
+    private Set<AccountField> withEmail(Set<AccountField> fields) {
+        if (CollectionUtils.isEmpty(fields)) {
+            return fields;
+        }
+
+        var selected = EnumSet.copyOf(fields);
+        selected.add(AccountField.EMAIL);
+
+        return selected;
+    }
 }
@@ -0,0 +1,25 @@
+package com.justedlev.account.component.impl;
+
+import com.justedlev.account.component.AccountInvalidationBus;
+import com.justedlev.account.model.event.AccountInvalidationMessage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In process stand-in for the broker, delivers every message to every subscriber synchronously.
+ */
+public class LocalAccountInvalidationBus implements AccountInvalidationBus {
+    private final List<Consumer<AccountInvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(AccountInvalidationMessage message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<AccountInvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -1,17 +1,77 @@
 package com.justedlev.account.component.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.justedlev.account.component.PageCounterComponent;
+import com.justedlev.account.component.model.PageCount;
+import com.justedlev.account.enumeration.CountType;
+import com.justedlev.account.properties.JAccountProperties;
 import com.justedlev.account.repository.AccountRepository;
-import lombok.RequiredArgsConstructor;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.util.Converter;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
 @Component
-@RequiredArgsConstructor
 public class PageCounterComponentImpl implements PageCounterComponent {
     private final AccountRepository accountRepository;
+    private final Cache<AccountFilter, Long> counts;
+
+    public PageCounterComponentImpl(AccountRepository accountRepository, JAccountProperties properties) {
+        this.accountRepository = accountRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.getCount().getCacheSize())
+                .expireAfterWrite(properties.getCount().getCacheTtl())
+                .build();
+    }
 
     @Override
     public int accountPageCount(int size) {
-        return (int) Math.ceil((double) accountRepository.count() / size);
+        return (int) Math.ceil((double) count(new AccountFilter(), CountType.CACHED).total() / size);
+    }
+
+    @Override
+    public PageCount count(AccountFilter filter, CountType type) {
+        return switch (Optional.ofNullable(type).orElse(CountType.EXACT)) {
+            case EXACT -> new PageCount(accountRepository.countByFilter(filter), CountType.EXACT);
+            case CACHED -> new PageCount(counts.get(normalize(filter), accountRepository::countByFilter),
+                    CountType.CACHED);
+            case ESTIMATED -> {
+                var estimate = accountRepository.estimateCountByFilter(filter);
+
+                yield estimate.isPresent()
+                        ? new PageCount(estimate.getAsLong(), CountType.ESTIMATED)
+                        : new PageCount(accountRepository.countByFilter(filter), CountType.EXACT);
+            }
+        };
+    }
+
+    private AccountFilter normalize(AccountFilter filter) {
+        return AccountFilter.builder()
+                .ids(toSet(filter.getIds(), Set::copyOf))
+                .emails(toSet(filter.getEmails(), Converter::toLowerCase))
+                .nicknames(toSet(filter.getNicknames(), Converter::toLowerCase))
+                .statuses(toSet(filter.getStatuses(), Set::copyOf))
+                .modes(toSet(filter.getModes(), Set::copyOf))
+                .activationCodes(toSet(filter.getActivationCodes(), Set::copyOf))
+                .modeAtFrom(filter.getModeAtFrom())
+                .modeAtTo(filter.getModeAtTo())
+                .searchText(Optional.ofNullable(filter.getSearchText())
+                        .filter(StringUtils::isNotBlank)
+                        .map(String::toLowerCase)
+                        .orElse(null))
+                .build();
+    }
+
+    private <T> Set<T> toSet(Collection<T> values, Function<Collection<T>, Set<T>> converter) {
+        return Optional.ofNullable(values)
+                .filter(current -> !current.isEmpty())
+                .map(converter)
+                .orElse(null);
     }
 }
@@ -0,0 +1,99 @@
+package com.justedlev.account.component.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.justedlev.account.common.converter.PhoneNumberConverter;
+import com.justedlev.account.component.PhoneNumberComponent;
+import com.justedlev.account.model.PhoneNumberInfo;
+import com.justedlev.account.properties.JAccountProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vavr.control.Try;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memoizes {@link PhoneNumberConverter}, libphonenumber parsing and formatting is by far the most expensive
+ * step of mapping an account request. Batches are parsed on a dedicated pool, when its queue is full the
+ * caller parses the number itself.
+ */
+@Component
+public class PhoneNumberComponentImpl implements PhoneNumberComponent {
+    private static final int QUEUE_FACTOR = 64;
+    private final PhoneNumberConverter phoneNumberConverter;
+    private final Cache<String, PhoneNumberInfo> phoneNumbers;
+    private final Timer parseTimer;
+    private final ExecutorService executor;
+
+    public PhoneNumberComponentImpl(PhoneNumberConverter phoneNumberConverter,
+                                    JAccountProperties.Phone phoneProperties,
+                                    MeterRegistry meterRegistry) {
+        this.phoneNumberConverter = phoneNumberConverter;
+        this.phoneNumbers = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(phoneProperties.getCacheSize())
+                .recordStats()
+                .build(), "account.phone.numbers");
+        this.parseTimer = Timer.builder("account.phone.parse")
+                .description("Time spent parsing and formatting a phone number missing from the cache")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(
+                phoneProperties.getParallelism(),
+                phoneProperties.getParallelism(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(phoneProperties.getParallelism() * QUEUE_FACTOR),
+                new CustomizableThreadFactory("phone-number-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Override
+    public PhoneNumberInfo normalize(String phoneNumber) {
+        if (StringUtils.isBlank(phoneNumber)) {
+            return null;
+        }
+
+        return phoneNumbers.get(phoneNumber.strip(), this::parse);
+    }
+
+    @Override
+    public Map<String, PhoneNumberInfo> normalizeAll(Collection<String> phoneNumbers) {
+        Map<String, PhoneNumberInfo> normalized = new HashMap<>();
+        Map<String, CompletableFuture<PhoneNumberInfo>> parsing = new HashMap<>();
+        phoneNumbers.stream()
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .forEach(current -> Optional.ofNullable(this.phoneNumbers.getIfPresent(current.strip()))
+                        .ifPresentOrElse(
+                                info -> normalized.put(current, info),
+                                () -> parsing.put(current, CompletableFuture.supplyAsync(
+                                        () -> Try.of(() -> normalize(current)).getOrNull(), executor))
+                        ));
+        parsing.forEach((phoneNumber, future) -> Optional.ofNullable(future.join())
+                .ifPresent(info -> normalized.put(phoneNumber, info)));
+
+        return normalized;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private PhoneNumberInfo parse(String phoneNumber) {
+        return parseTimer.record(() -> phoneNumberConverter.convert(phoneNumber));
+    }
+}
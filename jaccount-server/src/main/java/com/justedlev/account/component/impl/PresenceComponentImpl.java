@@ -0,0 +1,138 @@
+package com.justedlev.account.component.impl;
+
+import com.justedlev.account.component.PresenceComponent;
+import com.justedlev.account.component.event.PresenceFlushedEvent;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Mode;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.AccountRepository;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the latest heartbeat of each account as a single packed long:
+ * last seen millis in the high bits, then a removed flag, a dirty flag and the mode ordinal.
+ * Heartbeats only compare and set the packed long. Flush marks a clean expired entry as removed before
+ * dropping it from the map, and a heartbeat that meets a removed entry starts over on a fresh one.
+ * Dirty entries are written behind to the accounts table by {@link #flush()}, which then publishes
+ * a {@link PresenceFlushedEvent} so every replica drops the cached accounts with the old mode.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresenceComponentImpl implements PresenceComponent {
+    private static final ModeType[] MODES = ModeType.values();
+    private static final int MODE_BITS = 3;
+    private static final long MODE_MASK = (1L << MODE_BITS) - 1;
+    private static final long DIRTY = 1L << MODE_BITS;
+    private static final long REMOVED = DIRTY << 1;
+    private static final int TIME_SHIFT = MODE_BITS + 2;
+    private final Map<UUID, AtomicLong> entries = new ConcurrentHashMap<>();
+    private final JAccountProperties properties;
+    private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void heartbeat(@NonNull UUID id, @NonNull ModeType mode) {
+        var next = pack(System.currentTimeMillis(), mode) | DIRTY;
+
+        while (true) {
+            var state = entries.computeIfAbsent(id, key -> new AtomicLong());
+            var current = state.get();
+
+            while ((current & REMOVED) == 0) {
+                var updated = latest(current, next);
+
+                if (updated == current || state.compareAndSet(current, updated)) {
+                    return;
+                }
+
+                current = state.get();
+            }
+
+            entries.remove(id, state);
+        }
+    }
+
+    @Override
+    public Optional<Mode> getMode(UUID id) {
+        return Optional.ofNullable(id)
+                .map(entries::get)
+                .map(AtomicLong::get)
+                .filter(state -> (state & REMOVED) == 0)
+                .map(this::toMode);
+    }
+
+    @Override
+    public void flush() {
+        var expiredBefore = System.currentTimeMillis() - properties.getActivityTime().toMillis();
+        List<Pending> pending = new ArrayList<>();
+        Map<UUID, Mode> modes = new HashMap<>();
+        entries.forEach((id, state) -> {
+            var current = state.get();
+
+            if ((current & DIRTY) != 0 && state.compareAndSet(current, current & ~DIRTY)) {
+                pending.add(new Pending(state, current & ~DIRTY));
+                modes.put(id, toMode(current));
+            } else if ((current & REMOVED) != 0
+                    || isCleanAndExpired(current, expiredBefore) && state.compareAndSet(current, current | REMOVED)) {
+                entries.remove(id, state);
+            }
+        });
+
+        if (modes.isEmpty()) {
+            return;
+        }
+
+        try {
+            accountRepository.updateModes(modes, properties.getPresence().getBatchSize());
+            log.debug("Flushed {} presence entries", modes.size());
+        } catch (RuntimeException ex) {
+            pending.forEach(current -> current.state().compareAndSet(current.value(), current.value() | DIRTY));
+            log.error("Failed to flush {} presence entries : {}", modes.size(), ex.getMessage());
+
+            return;
+        }
+
+        eventPublisher.publishEvent(new PresenceFlushedEvent(modes.keySet()));
+    }
+
+    private static long latest(long current, long update) {
+        return timeOf(update) >= timeOf(current) ? update : current;
+    }
+
+    private static boolean isCleanAndExpired(long state, long expiredBefore) {
+        return (state & (DIRTY | REMOVED)) == 0 && timeOf(state) < expiredBefore;
+    }
+
+    private Mode toMode(long state) {
+        return Mode.builder()
+                .modeType(MODES[(int) (state & MODE_MASK)])
+                .modeAt(new Timestamp(timeOf(state)))
+                .build();
+    }
+
+    private static long pack(long millis, ModeType mode) {
+        return (millis << TIME_SHIFT) | mode.ordinal();
+    }
+
+    private static long timeOf(long state) {
+        return state >>> TIME_SHIFT;
+    }
+
+    private record Pending(AtomicLong state, long value) {
+    }
+}
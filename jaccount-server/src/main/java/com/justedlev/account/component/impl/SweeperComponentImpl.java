@@ -0,0 +1,101 @@
+package com.justedlev.account.component.impl;
+
+import com.justedlev.account.component.AccountModeComponent;
+import com.justedlev.account.component.SweeperComponent;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.request.UpdateAccountModeRequest;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.SweeperLeaseRepository;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SweeperComponentImpl implements SweeperComponent {
+    private static final List<UpdateAccountModeRequest> TRANSITIONS = List.of(
+            UpdateAccountModeRequest.builder()
+                    .fromModes(Set.of(ModeType.ONLINE))
+                    .toMode(ModeType.SLEEP)
+                    .build(),
+            UpdateAccountModeRequest.builder()
+                    .fromModes(Set.of(ModeType.SLEEP))
+                    .toMode(ModeType.OFFLINE)
+                    .build()
+    );
+    private final String fallbackOwner = UUID.randomUUID().toString();
+    private final JAccountProperties properties;
+    private final AccountModeComponent accountModeComponent;
+    private final SweeperLeaseRepository leaseRepository;
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registrationProvider;
+
+    @Override
+    public void sweep() {
+        var shards = properties.getSweeper().getShards();
+        var owner = getOwner();
+        var leaseSeconds = properties.getSweeper().getLeaseTime().toMillis() / 1000.0;
+        var owned = getPreferredShards(owner, shards)
+                .filter(shard -> leaseRepository.acquire(shard, owner, leaseSeconds) > 0)
+                .boxed()
+                .toList();
+        owned.forEach(shard -> sweep(shard, shards));
+        log.debug("Presence decay done by {} over shards {} of {}", owner, owned, shards);
+    }
+
+    @Override
+    @PreDestroy
+    public void release() {
+        Try.of(() -> leaseRepository.releaseAll(getOwner()))
+                .onFailure(ex -> log.error("Failed to release sweeper leases : {}", ex.getMessage()));
+    }
+
+    private void sweep(int shard, int shards) {
+        TRANSITIONS.forEach(request -> Try.of(() -> accountModeComponent.updateMode(request, shard, shards))
+                .onFailure(ex -> log.error("Failed to change mode to {} on shard {} : {}",
+                        request.getToMode(), shard, ex.getMessage())));
+    }
+
+    private IntStream getPreferredShards(String owner, int shards) {
+        var members = getMembers(owner);
+        var index = members.indexOf(owner);
+
+        return IntStream.range(0, shards)
+                .filter(shard -> shard % members.size() == index);
+    }
+
+    private List<String> getMembers(String owner) {
+        var registered = registrationProvider.stream()
+                .map(Registration::getServiceId)
+                .flatMap(serviceId -> discoveryClient.getInstances(serviceId).stream())
+                .map(ServiceInstance::getInstanceId);
+
+        return Stream.concat(registered, Stream.of(owner))
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private String getOwner() {
+        return registrationProvider.stream()
+                .map(Registration::getInstanceId)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(fallbackOwner);
+    }
+}
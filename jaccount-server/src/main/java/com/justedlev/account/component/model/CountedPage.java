@@ -0,0 +1,16 @@
+package com.justedlev.account.component.model;
+
+import com.justedlev.account.enumeration.CountType;
+import org.springframework.data.domain.Page;
+
+import java.util.function.Function;
+
+/**
+ * A page and the way its total was actually counted. The total of a short first or last page is told
+ * by its content without any count query, it is then EXACT whatever count type was requested.
+ */
+public record CountedPage<T>(Page<T> page, CountType countType) {
+    public <R> CountedPage<R> map(Function<? super T, ? extends R> converter) {
+        return new CountedPage<>(page.map(converter), countType);
+    }
+}
@@ -0,0 +1,9 @@
+package com.justedlev.account.component.model;
+
+import com.justedlev.account.enumeration.CountType;
+
+/**
+ * A total and the way it was actually counted, an estimate the planner cannot give is counted exactly.
+ */
+public record PageCount(long total, CountType type) {
+}
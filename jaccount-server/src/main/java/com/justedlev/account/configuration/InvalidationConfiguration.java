@@ -0,0 +1,54 @@
+package com.justedlev.account.configuration;
+
+import com.justedlev.account.component.AccountInvalidationBus;
+import com.justedlev.account.component.impl.AmqpAccountInvalidationBus;
+import com.justedlev.account.component.impl.LocalAccountInvalidationBus;
+import com.justedlev.account.properties.JAccountProperties;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class InvalidationConfiguration {
+    @Configuration
+    @ConditionalOnProperty(prefix = "jaccount.invalidation", name = "transport", havingValue = "amqp",
+            matchIfMissing = true)
+    public static class AmqpInvalidationConfiguration {
+        @Bean
+        public FanoutExchange accountInvalidationExchange(JAccountProperties properties) {
+            return new FanoutExchange(properties.getInvalidation().getExchange());
+        }
+
+        @Bean
+        public Queue accountInvalidationQueue() {
+            return new AnonymousQueue();
+        }
+
+        @Bean
+        public Binding accountInvalidationBinding(FanoutExchange accountInvalidationExchange,
+                                                  Queue accountInvalidationQueue) {
+            return BindingBuilder.bind(accountInvalidationQueue).to(accountInvalidationExchange);
+        }
+
+        @Bean
+        public AccountInvalidationBus accountInvalidationBus(AmqpTemplate amqpTemplate,
+                                                             FanoutExchange accountInvalidationExchange) {
+            return new AmqpAccountInvalidationBus(amqpTemplate, accountInvalidationExchange);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "jaccount.invalidation", name = "transport", havingValue = "local")
+    public static class LocalInvalidationConfiguration {
+        @Bean
+        public AccountInvalidationBus accountInvalidationBus() {
+            return new LocalAccountInvalidationBus();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.justedlev.account.configuration;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.justedlev.account.model.response.AccountResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfiguration {
+    /**
+     * Filter of {@link AccountResponse} set by AccountFieldsResponseBodyAdvice, without it every property is written.
+     */
+    public static final String ACCOUNT_FIELDS_FILTER = "accountFields";
+
+    /**
+     * The filter is attached through a mixin, so the client model and its other mappers stay untouched.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer accountFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(AccountResponse.class, AccountResponseMixin.class)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    @JsonFilter(ACCOUNT_FIELDS_FILTER)
+    private interface AccountResponseMixin {
+    }
+}
@@ -10,6 +10,18 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties({
         JAccountProperties.class,
         JAccountProperties.Service.class,
+        JAccountProperties.Sweeper.class,
+        JAccountProperties.Presence.class,
+        JAccountProperties.Count.class,
+        JAccountProperties.Search.class,
+        JAccountProperties.Cache.class,
+        JAccountProperties.Invalidation.class,
+        JAccountProperties.Bulk.class,
+        JAccountProperties.Export.class,
+        JAccountProperties.Query.class,
+        JAccountProperties.Phone.class,
+        JAccountProperties.Archive.class,
+        JAccountProperties.Confirmation.class,
         JNotificationProperties.class,
         JNotificationProperties.Service.class,
         CloudAmqpProperties.class,
@@ -0,0 +1,43 @@
+package com.justedlev.account.configuration;
+
+import com.justedlev.account.component.AccountInvalidationComponent;
+import com.justedlev.account.component.ArchiveComponent;
+import com.justedlev.account.component.PresenceComponent;
+import com.justedlev.account.component.SweeperComponent;
+import com.justedlev.account.properties.JAccountProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class SchedulingConfiguration implements SchedulingConfigurer {
+    private final JAccountProperties properties;
+    private final SweeperComponent sweeperComponent;
+    private final PresenceComponent presenceComponent;
+    private final AccountInvalidationComponent accountInvalidationComponent;
+    private final ArchiveComponent archiveComponent;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        var sweeper = properties.getSweeper();
+
+        if (Boolean.TRUE.equals(sweeper.getEnabled())) {
+            registrar.addFixedDelayTask(sweeperComponent::sweep, sweeper.getInterval().toMillis());
+        }
+
+        var archive = properties.getArchive();
+
+        if (Boolean.TRUE.equals(archive.getEnabled())) {
+            registrar.addFixedDelayTask(archiveComponent::archive, archive.getInterval().toMillis());
+        }
+
+        registrar.addFixedDelayTask(presenceComponent::flush,
+                properties.getPresence().getFlushInterval().toMillis());
+        registrar.addFixedDelayTask(accountInvalidationComponent::flush,
+                properties.getInvalidation().getFlushInterval().toMillis());
+    }
+}
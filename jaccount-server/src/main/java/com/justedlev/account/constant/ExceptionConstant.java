@@ -8,6 +8,7 @@ public final class ExceptionConstant {
     public static final String ROLE_NOT_EXISTS = "Role '%s' not exists";
     public static final String USER_ALREADY_DELETED = "User '%s' already deleted";
     public static final String ACCOUNT_ALREADY_DELETED = "Account '%s' already deleted";
+    public static final String PHONE_NUMBER_NOT_VALID = "Phone number '%s' not valid";
 
     private ExceptionConstant() {
         throw new IllegalStateException("Utility class");
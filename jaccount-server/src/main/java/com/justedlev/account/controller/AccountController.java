@@ -1,10 +1,21 @@
 package com.justedlev.account.controller;
 
 import com.justedlev.account.client.EndpointConstant;
+import com.justedlev.account.client.HeaderConstant;
+import com.justedlev.account.component.model.CountedPage;
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.CountType;
+import com.justedlev.account.enumeration.ExportFormat;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.enumeration.PhoneMatch;
 import com.justedlev.account.model.params.AccountFilterParams;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.model.request.CursorPageRequest;
+import com.justedlev.account.model.request.PatchAccountRequest;
 import com.justedlev.account.model.request.UpdateAccountModeRequest;
 import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.model.response.CursorPageResponse;
+import com.justedlev.account.model.response.UpdateAccountModeResponse;
 import com.justedlev.account.service.AccountService;
 import com.justedlev.common.model.request.PaginationRequest;
 import com.justedlev.common.model.response.PageResponse;
@@ -16,11 +27,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(EndpointConstant.V1_ACCOUNT)
@@ -35,15 +50,50 @@ public class AccountController {
         return ResponseEntity.ok(accountService.create(request));
     }
 
+    @PostMapping(
+            value = EndpointConstant.IMPORT,
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public ResponseEntity<List<ReportResponse>> importAccounts(InputStream requests,
+                                                               @RequestParam(defaultValue = "false") Boolean notify) {
+        return ResponseEntity.ok(accountService.create(requests, notify));
+    }
+
     @PostMapping
     public ResponseEntity<PageResponse<AccountResponse>> findPage(@ModelAttribute AccountFilterParams params,
-                                                                  @Valid @RequestBody PaginationRequest pagination) {
-        return ResponseEntity.ok(accountService.getPageByFilter(params, pagination));
+                                                                  @Valid @RequestBody PaginationRequest pagination,
+                                                                  @RequestParam(defaultValue = "EXACT")
+                                                                  CountType countType,
+                                                                  @RequestParam(required = false)
+                                                                  Set<AccountField> fields) {
+        return toResponse(accountService.getPageByFilter(params, pagination, countType, fields));
     }
 
     @PostMapping(value = EndpointConstant.PAGE)
-    public ResponseEntity<PageResponse<AccountResponse>> getPage(@Valid @RequestBody PaginationRequest request) {
-        return ResponseEntity.ok(accountService.getPage(request));
+    public ResponseEntity<PageResponse<AccountResponse>> getPage(@Valid @RequestBody PaginationRequest request,
+                                                                 @RequestParam(defaultValue = "EXACT")
+                                                                 CountType countType,
+                                                                 @RequestParam(required = false)
+                                                                 Set<AccountField> fields) {
+        return toResponse(accountService.getPage(request, countType, fields));
+    }
+
+    @PostMapping(value = EndpointConstant.CURSOR)
+    public ResponseEntity<CursorPageResponse<AccountResponse>> findCursorPage(@ModelAttribute AccountFilterParams params,
+                                                                              @Valid @RequestBody CursorPageRequest request) {
+        return ResponseEntity.ok(accountService.getCursorPage(params, request));
+    }
+
+    @GetMapping(value = EndpointConstant.EXPORT)
+    public ResponseEntity<StreamingResponseBody> export(@ModelAttribute AccountFilterParams params,
+                                                        @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        var contentType = format == ExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(output -> accountService.export(params, format, output));
     }
 
     @GetMapping(value = EndpointConstant.NICKNAME)
@@ -53,6 +103,15 @@ public class AccountController {
         return ResponseEntity.ok(accountService.getByNickname(nickname));
     }
 
+    @GetMapping(value = EndpointConstant.PHONE)
+    public ResponseEntity<List<AccountResponse>> getAccountsByPhoneNumber(@RequestParam
+                                                                          @NotBlank(message = "Phone number cannot be empty.")
+                                                                          String phoneNumber,
+                                                                          @RequestParam(defaultValue = "EXACT")
+                                                                          PhoneMatch match) {
+        return ResponseEntity.ok(accountService.getByPhoneNumber(phoneNumber, match));
+    }
+
     @PutMapping(value = EndpointConstant.NICKNAME_UPDATE)
     public ResponseEntity<AccountResponse> updateAccount(@PathVariable
                                                          @NotBlank(message = "Nickname cannot be empty.")
@@ -61,6 +120,14 @@ public class AccountController {
         return ResponseEntity.ok(accountService.update(nickname, request));
     }
 
+    @PatchMapping(value = EndpointConstant.NICKNAME)
+    public ResponseEntity<AccountResponse> patchAccount(@PathVariable
+                                                        @NotBlank(message = "Nickname cannot be empty.")
+                                                        String nickname,
+                                                        @Valid @RequestBody PatchAccountRequest request) {
+        return ResponseEntity.ok(accountService.patch(nickname, request));
+    }
+
     @PostMapping(value = EndpointConstant.NICKNAME_UPDATE_AVATAR, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<AccountResponse> updateAccountAvatar(@PathVariable
                                                                @NotBlank(message = "Nickname cannot be empty.")
@@ -77,7 +144,26 @@ public class AccountController {
     }
 
     @PostMapping(value = EndpointConstant.UPDATE_MODE)
-    public ResponseEntity<List<AccountResponse>> updateMode(@Valid @RequestBody UpdateAccountModeRequest request) {
+    public ResponseEntity<UpdateAccountModeResponse> updateMode(@Valid @RequestBody UpdateAccountModeRequest request) {
         return ResponseEntity.ok(accountService.updateMode(request));
     }
+
+    @PostMapping(value = EndpointConstant.NICKNAME_HEARTBEAT)
+    public ResponseEntity<Void> heartbeat(@PathVariable
+                                          @NotBlank(message = "Nickname cannot be empty.")
+                                          String nickname,
+                                          @RequestParam(defaultValue = "ONLINE") ModeType mode) {
+        accountService.heartbeat(nickname, mode);
+
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Names the way the total was actually counted, not the requested one.
+     */
+    private ResponseEntity<PageResponse<AccountResponse>> toResponse(CountedPage<AccountResponse> page) {
+        return ResponseEntity.ok()
+                .header(HeaderConstant.X_COUNT_TYPE, page.countType().name())
+                .body(PageResponse.from(page.page()));
+    }
 }
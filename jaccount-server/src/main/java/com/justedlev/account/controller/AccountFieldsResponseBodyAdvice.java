@@ -0,0 +1,59 @@
+package com.justedlev.account.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.justedlev.account.configuration.JacksonConfiguration;
+import com.justedlev.account.enumeration.AccountField;
+import lombok.NonNull;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Writes only the account properties selected with {@code fields=}, the columns behind the others
+ * are not read in the first place where the endpoint supports it.
+ */
+@ControllerAdvice
+public class AccountFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    private static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(@NonNull MappingJacksonValue bodyContainer,
+                                           @NonNull MediaType contentType,
+                                           @NonNull MethodParameter returnType,
+                                           @NonNull ServerHttpRequest request,
+                                           @NonNull ServerHttpResponse response) {
+        var values = Optional.of(request)
+                .filter(ServletServerHttpRequest.class::isInstance)
+                .map(current -> ((ServletServerHttpRequest) current).getServletRequest())
+                .map(current -> current.getParameterValues(FIELDS_PARAMETER))
+                .orElse(null);
+
+        if (ArrayUtils.isEmpty(values)) {
+            return;
+        }
+
+        var properties = Arrays.stream(values)
+                .flatMap(value -> Arrays.stream(StringUtils.split(value, ',')))
+                .map(AccountField::getByName)
+                .flatMap(Optional::stream)
+                .map(AccountField::getProperty)
+                .collect(Collectors.toSet());
+
+        if (!properties.isEmpty()) {
+            bodyContainer.setFilters(new SimpleFilterProvider().addFilter(JacksonConfiguration.ACCOUNT_FIELDS_FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.justedlev.account.controller;
 
 import com.justedlev.account.client.EndpointConstant;
+import com.justedlev.account.enumeration.AccountField;
 import com.justedlev.account.model.request.HistoryRequest;
 import com.justedlev.account.model.response.AccountHistoryResponse;
 import com.justedlev.account.service.HistoryService;
@@ -9,10 +10,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(EndpointConstant.V1_HISTORY)
@@ -21,8 +24,10 @@ public class HistoryController {
     private final HistoryService historyService;
 
     @PostMapping(value = EndpointConstant.ACCOUNT)
-    public ResponseEntity<List<AccountHistoryResponse>> getAccounts(@Valid @RequestBody HistoryRequest request) {
-        var response = historyService.getAccounts(request);
+    public ResponseEntity<List<AccountHistoryResponse>> getAccounts(@Valid @RequestBody HistoryRequest request,
+                                                                    @RequestParam(required = false)
+                                                                    Set<AccountField> fields) {
+        var response = historyService.getAccounts(request, fields);
 
         return ResponseEntity.ok(response);
     }
@@ -13,6 +13,18 @@ public class JAccountProperties {
     private Duration activityTime;
     private Duration offlineAfterTime;
     private Service service;
+    private Sweeper sweeper;
+    private Presence presence;
+    private Count count;
+    private Search search;
+    private Cache cache;
+    private Invalidation invalidation;
+    private Bulk bulk;
+    private Export export;
+    private Query query;
+    private Phone phone;
+    private Archive archive;
+    private Confirmation confirmation;
 
     @Data
     @ConfigurationPropertiesScan
@@ -22,4 +34,175 @@ public class JAccountProperties {
         private String email;
         private String host;
     }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.sweeper")
+    public static class Sweeper {
+        /**
+         * Max number of accounts moved to another mode by a single UPDATE statement.
+         */
+        private Integer chunkSize = 1000;
+        private Boolean enabled = Boolean.TRUE;
+        /**
+         * Delay between the end of one presence decay run and the start of the next one.
+         */
+        private Duration interval = Duration.ofMinutes(1);
+        /**
+         * Number of account_id hash ranges shared between the running replicas.
+         */
+        private Integer shards = 16;
+        /**
+         * How long a replica keeps a shard after its last run, should be longer than the interval.
+         */
+        private Duration leaseTime = Duration.ofMinutes(3);
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.presence")
+    public static class Presence {
+        /**
+         * How often heartbeats collected in memory are written to the accounts table.
+         */
+        private Duration flushInterval = Duration.ofSeconds(5);
+        private Integer batchSize = 500;
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.count")
+    public static class Count {
+        private Duration cacheTtl = Duration.ofSeconds(30);
+        private Long cacheSize = 1000L;
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.cache")
+    public static class Cache {
+        /**
+         * Applies to looked up accounts and to remembered misses alike.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+        private Long size = 10_000L;
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.invalidation")
+    public static class Invalidation {
+        /**
+         * AMQP fans evictions out to every replica, LOCAL keeps them in process for a single node or tests.
+         */
+        private Transport transport = Transport.AMQP;
+        private String exchange = "jaccount.account-invalidation";
+        /**
+         * How long evictions are coalesced before they are published.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+        private Integer batchSize = 500;
+
+        public enum Transport {
+            AMQP,
+            LOCAL
+        }
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.bulk")
+    public static class Bulk {
+        /**
+         * Rows deduplicated by one query and inserted in one transaction.
+         */
+        private Integer chunkSize = 1000;
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.export")
+    public static class Export {
+        /**
+         * Rows pulled per round trip of the database cursor, the persistence context is cleared as often.
+         */
+        private Integer fetchSize = 500;
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.search")
+    public static class Search {
+        /**
+         * TRIGRAM matches against the indexed account_search_document, LIKE keeps the per column scan.
+         */
+        private SearchMode mode = SearchMode.TRIGRAM;
+        /**
+         * Max accounts returned by a lookup by phone number.
+         */
+        private Integer phoneLimit = 100;
+
+        public enum SearchMode {
+            TRIGRAM,
+            LIKE
+        }
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.query")
+    public static class Query {
+        /**
+         * Rendered filter query templates kept, one per filter shape, sort and query kind.
+         */
+        private Long templateCacheSize = 512L;
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.phone")
+    public static class Phone {
+        /**
+         * Parsed phone numbers kept in memory, keyed by the raw input.
+         */
+        private Long cacheSize = 10_000L;
+        /**
+         * Threads parsing the phone numbers of a batch.
+         */
+        private Integer parallelism = 4;
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.archive")
+    public static class Archive {
+        private Boolean enabled = Boolean.TRUE;
+        /**
+         * Delay between the end of one archive run and the start of the next one.
+         */
+        private Duration interval = Duration.ofMinutes(10);
+        /**
+         * Max number of accounts moved to accounts_archive by a single statement, each in its own transaction.
+         */
+        private Integer batchSize = 500;
+        /**
+         * How long a DELETED account stays in accounts after its last update.
+         */
+        private Duration deletedRetention = Duration.ofDays(30);
+        /**
+         * How long an account may stay UNCONFIRMED after its registration.
+         */
+        private Duration unconfirmedRetention = Duration.ofDays(7);
+    }
+
+    @Data
+    @ConfigurationPropertiesScan
+    @ConfigurationProperties(prefix = "jaccount.confirmation")
+    public static class Confirmation {
+        /**
+         * How long a confirmed activation code is remembered to turn away repeated clicks.
+         */
+        private Duration cacheTtl = Duration.ofHours(1);
+        private Long cacheSize = 10_000L;
+    }
 }
@@ -1,15 +1,52 @@
 package com.justedlev.account.repository;
 
+import com.justedlev.account.enumeration.AccountStatusCode;
 import com.justedlev.account.repository.custom.AccountCustomRepository;
 import com.justedlev.account.repository.entity.Account;
+import com.justedlev.account.repository.projection.AccountKeyProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, UUID>, JpaSpecificationExecutor<Account>,
         AccountCustomRepository {
     boolean existsByNickname(String nickname);
+
+    @Query("select a from Account a where lower(a.nickname) = lower(:nickname) order by a.createdAt desc")
+    List<Account> findByNickname(@Param("nickname") String nickname, Pageable pageable);
+
+    @Query("""
+            select a from Account a
+            where a.phoneNumber.countryCode = :countryCode and a.phoneNumber.national = :national
+            order by a.createdAt desc
+            """)
+    List<Account> findByPhoneNumber(@Param("countryCode") Short countryCode,
+                                    @Param("national") Long national,
+                                    Pageable pageable);
+
+    /**
+     * @param pattern digits of the international number followed by {@code %}, backed by ix_accounts_phone_digits
+     */
+    @Query("""
+            select a from Account a
+            where function('account_phone_digits', a.phoneNumber.countryCode, a.phoneNumber.national) like :pattern
+            order by a.createdAt desc
+            """)
+    List<Account> findByPhoneDigits(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("""
+            select a.email as email, a.nickname as nickname from Account a
+            where (lower(a.email) in :emails or lower(a.nickname) in :nicknames) and a.status <> :status
+            """)
+    List<AccountKeyProjection> findKeys(@Param("emails") Collection<String> emails,
+                                        @Param("nicknames") Collection<String> nicknames,
+                                        @Param("status") AccountStatusCode excludedStatus);
 }
@@ -0,0 +1,34 @@
+package com.justedlev.account.repository;
+
+import com.justedlev.account.repository.entity.SweeperLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SweeperLeaseRepository extends JpaRepository<SweeperLease, Integer> {
+    /**
+     * Expiry is set and checked against the database clock, replicas with skewed clocks still agree
+     * on who holds a shard. LOCALTIMESTAMP is local to the session time zone, which the driver takes from
+     * the JVM, the same wall clock as every other timestamp of this service.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO sweeper_leases (shard, owner, expires_at)
+            VALUES (:shard, :owner, LOCALTIMESTAMP + make_interval(secs => :leaseSeconds))
+            ON CONFLICT (shard) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+            WHERE sweeper_leases.owner = EXCLUDED.owner OR sweeper_leases.expires_at < LOCALTIMESTAMP
+            """, nativeQuery = true)
+    int acquire(@Param("shard") int shard,
+                @Param("owner") String owner,
+                @Param("leaseSeconds") double leaseSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM sweeper_leases WHERE owner = :owner", nativeQuery = true)
+    int releaseAll(@Param("owner") String owner);
+}
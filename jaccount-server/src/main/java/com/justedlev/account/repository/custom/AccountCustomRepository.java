@@ -1,14 +1,110 @@
 package com.justedlev.account.repository.custom;
 
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Mode;
+import com.justedlev.account.repository.custom.filter.AccountCursor;
 import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.custom.filter.AccountModeFilter;
+import com.justedlev.account.repository.custom.patch.AccountPatch;
 import com.justedlev.account.repository.entity.Account;
+import com.justedlev.account.repository.projection.AccountProjection;
+import com.justedlev.account.repository.projection.ConfirmedAccountProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 public interface AccountCustomRepository {
     List<Account> findByFilter(AccountFilter filter);
 
     Page<Account> findByFilter(AccountFilter filter, Pageable pageable);
+
+    Page<Account> findByFilter(AccountFilter filter, Pageable pageable, LongSupplier totalSupplier);
+
+    /**
+     * @param fields the fields to read, the columns of the others are not selected and stay null; all when empty
+     */
+    List<AccountProjection> findProjectionsByFilter(AccountFilter filter, Pageable pageable, Set<AccountField> fields);
+
+    Page<AccountProjection> findProjectionsByFilter(AccountFilter filter,
+                                                    Pageable pageable,
+                                                    LongSupplier totalSupplier,
+                                                    Set<AccountField> fields);
+
+    long countByFilter(AccountFilter filter);
+
+    /**
+     * Row estimate of the PostgreSQL planner.
+     *
+     * @return empty when the plan carries no estimate
+     */
+    OptionalLong estimateCountByFilter(AccountFilter filter);
+
+    List<Account> findByFilter(AccountFilter filter, AccountCursor cursor, int limit);
+
+    long streamByFilter(AccountFilter filter, int fetchSize, Consumer<Account> consumer);
+
+    List<UUID> updateMode(AccountModeFilter filter, ModeType mode);
+
+    void updateModes(Map<UUID, Mode> modes, int batchSize);
+
+    List<Account> insertAll(List<Account> accounts);
+
+    /**
+     * Resolves the nickname through the natural id, the second level cache answers repeated lookups.
+     * A resolution cached before the account was renamed, deleted or archived is not returned.
+     *
+     * @return the account that is not DELETED with that nickname
+     */
+    Optional<Account> findByLiveNickname(String nickname);
+
+    /**
+     * Inserts the account unless a live account already has its email or nickname, in one statement.
+     *
+     * @return the inserted account, empty on a conflict
+     */
+    Optional<Account> insertIfAbsent(Account account);
+
+    /**
+     * Writes only the columns set in the patch onto the live account of the nickname, in one statement.
+     *
+     * @return the updated account, empty when there is no live account with that nickname
+     */
+    Optional<Account> patch(String nickname, AccountPatch patch);
+
+    /**
+     * Switches the account of the activation code to ACTUAL if it is still UNCONFIRMED.
+     *
+     * @return the confirmed account, empty when there is no UNCONFIRMED account with that code
+     */
+    Optional<ConfirmedAccountProjection> confirm(String activationCode);
+
+    /**
+     * Moves DELETED accounts last updated before the given time to accounts_archive.
+     *
+     * @return ids of the moved accounts, at most {@code limit}
+     */
+    List<UUID> archiveDeleted(Timestamp updatedBefore, int limit);
+
+    /**
+     * Moves UNCONFIRMED accounts registered before the given time to accounts_archive.
+     *
+     * @return ids of the moved accounts, at most {@code limit}
+     */
+    List<UUID> archiveUnconfirmed(Timestamp createdBefore, int limit);
+
+    /**
+     * Accounts of the given emails from accounts and accounts_archive, newest first. Archived ones are detached.
+     */
+    List<Account> findWithArchivedByEmails(Collection<String> emails, Pageable pageable);
 }
@@ -0,0 +1,25 @@
+package com.justedlev.account.repository.custom.filter;
+
+import com.justedlev.account.enumeration.AccountSortField;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountCursor {
+    private AccountSortField sortBy;
+    private String attribute;
+    private Sort.Direction direction;
+    /**
+     * Sort value and id of the last account of the previous page, both {@code null} for the first page.
+     */
+    private Comparable<?> value;
+    private UUID id;
+}
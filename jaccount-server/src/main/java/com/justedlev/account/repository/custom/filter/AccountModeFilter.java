@@ -0,0 +1,24 @@
+package com.justedlev.account.repository.custom.filter;
+
+import com.justedlev.account.enumeration.ModeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountModeFilter {
+    private Collection<ModeType> modes;
+    private Timestamp modeAtTo;
+    private Integer limit;
+    @Builder.Default
+    private Integer hashFrom = Integer.MIN_VALUE;
+    @Builder.Default
+    private Integer hashTo = Integer.MAX_VALUE;
+}
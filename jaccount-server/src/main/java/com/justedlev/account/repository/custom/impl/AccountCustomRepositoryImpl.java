@@ -1,159 +1,523 @@
 package com.justedlev.account.repository.custom.impl;
 
+import com.justedlev.account.common.converter.AccountStatusCodeAttributeConverter;
+import com.justedlev.account.common.converter.GenderAttributeConverter;
+import com.justedlev.account.common.converter.ModeTypeAttributeConverter;
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.AccountStatusCode;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Mode;
 import com.justedlev.account.repository.custom.AccountCustomRepository;
+import com.justedlev.account.repository.custom.filter.AccountCursor;
 import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.custom.filter.AccountModeFilter;
+import com.justedlev.account.repository.custom.patch.AccountPatch;
 import com.justedlev.account.repository.entity.Account;
-import com.justedlev.account.repository.entity.Account_;
+import com.justedlev.account.repository.entity.PhoneNumber;
+import com.justedlev.account.repository.projection.AccountProjection;
+import com.justedlev.account.repository.projection.ConfirmedAccountProjection;
 import com.justedlev.account.util.Converter;
+import com.justedlev.account.util.DateTimeUtils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.hibernate.type.LongType;
+import org.hibernate.type.PostgresUUIDType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TimestampType;
+import org.hibernate.type.Type;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import javax.persistence.TypedQuery;
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
+import javax.persistence.Tuple;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class AccountCustomRepositoryImpl implements AccountCustomRepository {
+    private static final String UPDATE_MODE_QUERY = """
+            UPDATE accounts SET mode_code = :mode, mode_at = :modeAt
+            WHERE account_id IN (
+                SELECT account_id FROM accounts
+                WHERE mode_code IN (:modes) AND mode_at < :modeAtTo
+                  AND hashtext(CAST(account_id AS text)) BETWEEN :hashFrom AND :hashTo
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING account_id
+            """;
+    private static final String UPDATE_MODES_QUERY = """
+            UPDATE accounts SET mode_code = ?, mode_at = ?
+            WHERE account_id = ? AND mode_at < ?
+            """;
+    /**
+     * Conflicts with ux_accounts_live_lower_email or ux_accounts_live_nick_name return no row.
+     * New accounts have no avatar yet, live_nick_name is filled by the accounts_sync_live_nick_name trigger.
+     */
+    private static final String INSERT_IF_ABSENT_QUERY = """
+            INSERT INTO accounts (account_id, nick_name, first_name, last_name, birth_date, gender_code, email,
+                                  phone_national, phone_country_code, phone_region_code, phone_international,
+                                  activation_code, status_code, mode_code, mode_at, created_at, updated_at)
+            VALUES (:id, :nickname, :firstName, :lastName, :birthDate, :gender, :email,
+                    :phoneNational, :phoneCountryCode, :phoneRegionCode, :phoneInternational,
+                    :activationCode, :status, :mode, :modeAt, :now, :now)
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """;
+    /**
+     * Keyed by ux_accounts_live_nick_name, so at most one row. The avatar is never part of the SET list
+     * unless changed, its jsonb is not written again.
+     */
+    private static final String PATCH_QUERY = """
+            UPDATE accounts SET %s, updated_at = :now
+            WHERE live_nick_name = :key
+            RETURNING *
+            """;
+    private static final String CONFIRM_QUERY = """
+            UPDATE accounts SET status_code = ?, updated_at = ?
+            WHERE activation_code = ? AND status_code = ?
+            RETURNING account_id, nick_name
+            """;
+    /**
+     * Rows are copied by column name through jsonb, accounts_archive has its columns in another order.
+     */
+    private static final String ARCHIVE_QUERY = """
+            WITH moved AS (
+                DELETE FROM accounts
+                WHERE account_id IN (
+                    SELECT account_id FROM accounts
+                    WHERE status_code = ? AND %s < ?
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING *
+            )
+            INSERT INTO accounts_archive
+            SELECT archived.* FROM moved,
+                jsonb_populate_record(CAST(NULL AS accounts_archive), to_jsonb(moved)
+                    || jsonb_build_object('archived_at', CAST(? AS TIMESTAMP), 'live_nick_name', NULL)) archived
+            RETURNING account_id
+            """;
+    /**
+     * Live rows are brought into the shape of accounts_archive by column name, archived_at stays empty.
+     */
+    private static final String HISTORY_QUERY = """
+            SELECT * FROM (
+                SELECT live.* FROM accounts a,
+                    jsonb_populate_record(CAST(NULL AS accounts_archive), to_jsonb(a)) live
+                WHERE lower(a.email) IN (:emails)
+                UNION ALL
+                SELECT r.* FROM accounts_archive r
+                WHERE lower(r.email) IN (:emails)
+            ) history
+            ORDER BY created_at DESC
+            """;
+    private static final ModeTypeAttributeConverter MODE_CONVERTER = new ModeTypeAttributeConverter();
+    private static final AccountStatusCodeAttributeConverter STATUS_CONVERTER =
+            new AccountStatusCodeAttributeConverter();
+    private static final GenderAttributeConverter GENDER_CONVERTER = new GenderAttributeConverter();
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+    private static final String NATIVE_SEARCH_DOCUMENT =
+            "account_search_document(email, nick_name, first_name, last_name, phone_national)";
     @PersistenceContext
     private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountQueryTemplates queryTemplates;
 
     @Override
     public List<Account> findByFilter(@NonNull AccountFilter filter) {
-        var cb = em.getCriteriaBuilder();
-        var cq = cb.createQuery(Account.class);
-        var root = cq.from(Account.class);
-        var predicates = buildPredicates(filter, cb, root);
-        applyPredicates(cq, predicates);
+        var query = em.createQuery(queryTemplates.select(filter, Sort.unsorted()), Account.class);
 
-        return em.createQuery(cq).getResultList();
+        return queryTemplates.bind(query, filter).getResultList();
     }
 
     @Override
     public Page<Account> findByFilter(@NonNull AccountFilter filter, @NonNull Pageable pageable) {
-        var cb = em.getCriteriaBuilder();
-        var cq = cb.createQuery(Account.class);
-        var root = cq.from(Account.class);
-        var predicates = buildPredicates(filter, cb, root);
-        applyPredicates(cq, predicates);
-        applyOrders(pageable.getSort(), cb, cq, root);
-        var query = em.createQuery(cq);
+        return findByFilter(filter, pageable, () -> countByFilter(filter));
+    }
+
+    @Override
+    public Page<Account> findByFilter(@NonNull AccountFilter filter,
+                                      @NonNull Pageable pageable,
+                                      @NonNull LongSupplier totalSupplier) {
+        var query = em.createQuery(queryTemplates.select(filter, pageable.getSort()), Account.class);
+        queryTemplates.bind(query, filter);
         applyPageable(pageable, query);
         var content = query.getResultList();
 
-        return PageableExecutionUtils.getPage(content, pageable, () -> executeCountQuery(predicates));
+        return PageableExecutionUtils.getPage(content, pageable, totalSupplier);
     }
 
-    private void applyOrders(Sort sort, CriteriaBuilder cb, CriteriaQuery<Account> cq, Root<Account> root) {
-        if (sort.isSorted()) {
-            var orders = QueryUtils.toOrders(sort, root, cb);
-            cq.orderBy(orders);
-        }
+    @Override
+    public List<AccountProjection> findProjectionsByFilter(@NonNull AccountFilter filter,
+                                                           @NonNull Pageable pageable,
+                                                           Set<AccountField> fields) {
+        var query = em.createQuery(
+                queryTemplates.selectProjection(filter, pageable.getSort(), fields),
+                Tuple.class
+        );
+        queryTemplates.bind(query, filter);
+        applyPageable(pageable, query);
+
+        return query.getResultList()
+                .stream()
+                .map(queryTemplates::toProjection)
+                .toList();
     }
 
-    private void applyPageable(Pageable pageable, TypedQuery<Account> query) {
-        if (pageable.isPaged()) {
-            query.setFirstResult((int) pageable.getOffset())
-                    .setMaxResults(pageable.getPageSize());
+    @Override
+    public Page<AccountProjection> findProjectionsByFilter(@NonNull AccountFilter filter,
+                                                           @NonNull Pageable pageable,
+                                                           @NonNull LongSupplier totalSupplier,
+                                                           Set<AccountField> fields) {
+        var content = findProjectionsByFilter(filter, pageable, fields);
+
+        return PageableExecutionUtils.getPage(content, pageable, totalSupplier);
+    }
+
+    @Override
+    public long countByFilter(@NonNull AccountFilter filter) {
+        var query = em.createQuery(queryTemplates.count(filter), Long.class);
+
+        return queryTemplates.bind(query, filter).getSingleResult();
+    }
+
+    @Override
+    public OptionalLong estimateCountByFilter(@NonNull AccountFilter filter) {
+        List<Object> params = new ArrayList<>();
+        var sql = "EXPLAIN SELECT 1 FROM accounts" + buildNativeWhere(filter, params);
+        var plan = jdbcTemplate.queryForList(sql, String.class, params.toArray());
+
+        return plan.stream()
+                .findFirst()
+                .map(PLAN_ROWS::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> OptionalLong.of(Long.parseLong(matcher.group(1))))
+                .orElseGet(OptionalLong::empty);
+    }
+
+    @Override
+    public List<Account> findByFilter(@NonNull AccountFilter filter, @NonNull AccountCursor cursor, int limit) {
+        var query = em.createQuery(queryTemplates.selectAfter(filter, cursor), Account.class);
+        queryTemplates.bind(query, filter);
+        queryTemplates.bind(query, cursor);
+
+        return query.setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("rawtypes")
+    public long streamByFilter(@NonNull AccountFilter filter, int fetchSize, @NonNull Consumer<Account> consumer) {
+        var query = em.createQuery(queryTemplates.select(filter, Sort.unsorted()), Account.class);
+        var count = 0L;
+
+        try (var results = queryTemplates.bind(query, filter)
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                consumer.accept((Account) results.get(0));
+
+                if (++count % fetchSize == 0) {
+                    em.clear();
+                }
+            }
         }
+
+        return count;
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<UUID> updateMode(@NonNull AccountModeFilter filter, @NonNull ModeType mode) {
+        var modes = filter.getModes()
+                .stream()
+                .map(MODE_CONVERTER::convertToDatabaseColumn)
+                .toList();
+
+        return em.createNativeQuery(UPDATE_MODE_QUERY)
+                .setParameter("mode", MODE_CONVERTER.convertToDatabaseColumn(mode))
+                .setParameter("modeAt", DateTimeUtils.nowTimestamp())
+                .setParameter("modes", modes)
+                .setParameter("modeAtTo", filter.getModeAtTo())
+                .setParameter("hashFrom", filter.getHashFrom())
+                .setParameter("hashTo", filter.getHashTo())
+                .setParameter("limit", filter.getLimit())
+                .unwrap(NativeQuery.class)
+                .addScalar("account_id", PostgresUUIDType.INSTANCE)
+                .getResultList();
+    }
+
+    @Override
+    public void updateModes(@NonNull Map<UUID, Mode> modes, int batchSize) {
+        jdbcTemplate.batchUpdate(UPDATE_MODES_QUERY, modes.entrySet(), batchSize, (ps, entry) -> {
+            ps.setShort(1, MODE_CONVERTER.convertToDatabaseColumn(entry.getValue().getModeType()));
+            ps.setTimestamp(2, entry.getValue().getModeAt());
+            ps.setObject(3, entry.getKey());
+            ps.setTimestamp(4, entry.getValue().getModeAt());
+        });
     }
 
-    private <T> void applyPredicates(CriteriaQuery<T> cq, Predicate... predicates) {
-        if (ArrayUtils.isNotEmpty(predicates)) {
-            cq.where(predicates);
+    @Override
+    @Transactional
+    public List<Account> insertAll(@NonNull List<Account> accounts) {
+        accounts.forEach(em::persist);
+        em.flush();
+        em.clear();
+
+        return accounts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Account> findByLiveNickname(@NonNull String nickname) {
+        var key = nickname.toLowerCase();
+
+        return em.unwrap(Session.class)
+                .bySimpleNaturalId(Account.class)
+                .loadOptional(key)
+                .filter(account -> key.equals(account.getLiveNickname()));
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<Account> insertIfAbsent(@NonNull Account account) {
+        var session = em.unwrap(SharedSessionContractImplementor.class);
+        var id = session.getFactory()
+                .getMetamodel()
+                .entityPersister(Account.class)
+                .getIdentifierGenerator()
+                .generate(session, account);
+        var phoneNumber = Optional.ofNullable(account.getPhoneNumber());
+        var now = DateTimeUtils.nowTimestamp();
+        List<Account> inserted = em.createNativeQuery(INSERT_IF_ABSENT_QUERY, Account.class)
+                .unwrap(NativeQuery.class)
+                .setParameter("id", id, PostgresUUIDType.INSTANCE)
+                .setParameter("nickname", account.getNickname(), StringType.INSTANCE)
+                .setParameter("firstName", account.getFirstName(), StringType.INSTANCE)
+                .setParameter("lastName", account.getLastName(), StringType.INSTANCE)
+                .setParameter("birthDate", account.getBirthDate(), TimestampType.INSTANCE)
+                .setParameter("gender", GENDER_CONVERTER.convertToDatabaseColumn(account.getGender()),
+                        ShortType.INSTANCE)
+                .setParameter("email", account.getEmail(), StringType.INSTANCE)
+                .setParameter("phoneNational", phoneNumber.map(PhoneNumber::getNational).orElse(null),
+                        LongType.INSTANCE)
+                .setParameter("phoneCountryCode", phoneNumber.map(PhoneNumber::getCountryCode).orElse(null),
+                        ShortType.INSTANCE)
+                .setParameter("phoneRegionCode", phoneNumber.map(PhoneNumber::getRegionCode).orElse(null),
+                        StringType.INSTANCE)
+                .setParameter("phoneInternational", phoneNumber.map(PhoneNumber::getInternational).orElse(null),
+                        StringType.INSTANCE)
+                .setParameter("activationCode", account.getActivationCode(), StringType.INSTANCE)
+                .setParameter("status", STATUS_CONVERTER.convertToDatabaseColumn(account.getStatus()),
+                        ShortType.INSTANCE)
+                .setParameter("mode", MODE_CONVERTER.convertToDatabaseColumn(account.getMode()), ShortType.INSTANCE)
+                .setParameter("modeAt", account.getModeAt(), TimestampType.INSTANCE)
+                .setParameter("now", now, TimestampType.INSTANCE)
+                .getResultList();
+
+        return inserted.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<Account> patch(@NonNull String nickname, @NonNull AccountPatch patch) {
+        var assignments = new ArrayList<Assignment>();
+        Optional.ofNullable(patch.getNickname())
+                .ifPresent(value -> assignments.add(new Assignment("nick_name", value, StringType.INSTANCE)));
+        Optional.ofNullable(patch.getEmail())
+                .ifPresent(value -> assignments.add(new Assignment("email", value, StringType.INSTANCE)));
+        Optional.ofNullable(patch.getFirstName())
+                .ifPresent(value -> assignments.add(new Assignment("first_name", value, StringType.INSTANCE)));
+        Optional.ofNullable(patch.getLastName())
+                .ifPresent(value -> assignments.add(new Assignment("last_name", value, StringType.INSTANCE)));
+        Optional.ofNullable(patch.getBirthDate())
+                .ifPresent(value -> assignments.add(new Assignment("birth_date", value, TimestampType.INSTANCE)));
+        Optional.ofNullable(patch.getGender())
+                .map(GENDER_CONVERTER::convertToDatabaseColumn)
+                .ifPresent(value -> assignments.add(new Assignment("gender_code", value, ShortType.INSTANCE)));
+        Optional.ofNullable(patch.getPhoneNumber()).ifPresent(value -> {
+            assignments.add(new Assignment("phone_national", value.getNational(), LongType.INSTANCE));
+            assignments.add(new Assignment("phone_country_code", value.getCountryCode(), ShortType.INSTANCE));
+            assignments.add(new Assignment("phone_region_code", value.getRegionCode(), StringType.INSTANCE));
+            assignments.add(new Assignment("phone_international", value.getInternational(), StringType.INSTANCE));
+        });
+
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
         }
+
+        var set = assignments.stream()
+                .map(assignment -> assignment.column() + " = :" + assignment.column())
+                .collect(Collectors.joining(", "));
+        var query = em.createNativeQuery(PATCH_QUERY.formatted(set), Account.class)
+                .unwrap(NativeQuery.class)
+                .setParameter("now", DateTimeUtils.nowTimestamp(), TimestampType.INSTANCE)
+                .setParameter("key", nickname.toLowerCase(), StringType.INSTANCE);
+        assignments.forEach(assignment ->
+                query.setParameter(assignment.column(), assignment.value(), assignment.type()));
+        List<Account> updated = query.getResultList();
+
+        return updated.stream().findFirst();
     }
 
-    private long executeCountQuery(Predicate... predicates) {
-        return em.createQuery(createCountQuery(predicates))
-                .getSingleResult();
+    @Override
+    public Optional<ConfirmedAccountProjection> confirm(@NonNull String activationCode) {
+        return jdbcTemplate.query(CONFIRM_QUERY,
+                        (rs, rowNum) -> new ConfirmedAccountProjection(rs.getObject(1, UUID.class), rs.getString(2)),
+                        STATUS_CONVERTER.convertToDatabaseColumn(AccountStatusCode.ACTUAL),
+                        DateTimeUtils.nowTimestamp(),
+                        activationCode,
+                        STATUS_CONVERTER.convertToDatabaseColumn(AccountStatusCode.UNCONFIRMED))
+                .stream()
+                .findFirst();
     }
 
-    private CriteriaQuery<Long> createCountQuery(Predicate... predicates) {
-        var cb = em.getCriteriaBuilder();
-        var cq = cb.createQuery(Long.class);
-        var root = cq.from(Account.class);
-        applyPredicates(cq, predicates);
+    @Override
+    public List<UUID> archiveDeleted(@NonNull Timestamp updatedBefore, int limit) {
+        return archive(AccountStatusCode.DELETED, "updated_at", updatedBefore, limit);
+    }
 
-        return cq.select(cb.count(root));
+    @Override
+    public List<UUID> archiveUnconfirmed(@NonNull Timestamp createdBefore, int limit) {
+        return archive(AccountStatusCode.UNCONFIRMED, "created_at", createdBefore, limit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Account> findWithArchivedByEmails(@NonNull Collection<String> emails, @NonNull Pageable pageable) {
+        var query = em.createNativeQuery(HISTORY_QUERY, Account.class)
+                .setParameter("emails", Converter.toLowerCase(emails))
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE);
+        applyPageable(pageable, query);
+
+        return query.getResultList();
+    }
+
+    /**
+     * Deletes and archives in one statement, so every batch is its own short transaction.
+     */
+    private List<UUID> archive(AccountStatusCode status, String timeColumn, Timestamp before, int limit) {
+        return jdbcTemplate.queryForList(ARCHIVE_QUERY.formatted(timeColumn), UUID.class,
+                STATUS_CONVERTER.convertToDatabaseColumn(status), before, limit, DateTimeUtils.nowTimestamp());
+    }
+
+    private void applyPageable(Pageable pageable, javax.persistence.Query query) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
     }
 
-    private Predicate[] buildPredicates(AccountFilter filter, CriteriaBuilder cb, Root<Account> root) {
-        List<Predicate> predicates = new ArrayList<>();
+    private String buildNativeWhere(AccountFilter filter, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
 
         if (CollectionUtils.isNotEmpty(filter.getIds())) {
-            predicates.add(root.get(Account_.id).in(filter.getIds()));
+            conditions.add(nativeAny("account_id", filter.getIds().toArray(UUID[]::new), params));
         }
 
         if (CollectionUtils.isNotEmpty(filter.getEmails())) {
-            predicates.add(cb.lower(root.get(Account_.email)).in(Converter.toLowerCase(filter.getEmails())));
+            conditions.add(nativeAny("lower(email)", Converter.toLowerCase(filter.getEmails()).toArray(String[]::new), params));
         }
 
         if (CollectionUtils.isNotEmpty(filter.getNicknames())) {
-            predicates.add(cb.lower(root.get(Account_.nickname)).in(Converter.toLowerCase(filter.getNicknames())));
+            conditions.add(nativeAny("lower(nick_name)", Converter.toLowerCase(filter.getNicknames()).toArray(String[]::new), params));
         }
 
         if (CollectionUtils.isNotEmpty(filter.getModes())) {
-            predicates.add(root.get(Account_.mode).in(filter.getModes()));
+            var modes = filter.getModes()
+                    .stream()
+                    .map(MODE_CONVERTER::convertToDatabaseColumn)
+                    .toArray(Short[]::new);
+            conditions.add(nativeAny("mode_code", modes, params));
         }
 
         if (ObjectUtils.isNotEmpty(filter.getModeAtFrom())) {
-            predicates.add(cb.greaterThanOrEqualTo(root.get(Account_.modeAt), filter.getModeAtFrom()));
+            conditions.add("mode_at >= ?");
+            params.add(filter.getModeAtFrom());
         }
 
         if (ObjectUtils.isNotEmpty(filter.getModeAtTo())) {
-            predicates.add(cb.lessThanOrEqualTo(root.get(Account_.modeAt), filter.getModeAtTo()));
+            conditions.add("mode_at <= ?");
+            params.add(filter.getModeAtTo());
         }
 
         if (CollectionUtils.isNotEmpty(filter.getStatuses())) {
-            predicates.add(root.get(Account_.status).in(filter.getStatuses()));
+            var statuses = filter.getStatuses()
+                    .stream()
+                    .map(STATUS_CONVERTER::convertToDatabaseColumn)
+                    .toArray(Short[]::new);
+            conditions.add(nativeAny("status_code", statuses, params));
         }
 
         if (CollectionUtils.isNotEmpty(filter.getActivationCodes())) {
-            predicates.add(root.get(Account_.activationCode).in(filter.getActivationCodes()));
+            conditions.add(nativeAny("activation_code", filter.getActivationCodes().toArray(String[]::new), params));
         }
 
-        if (StringUtils.isNotBlank(filter.getSearchText())) {
-            predicates.add(createSearchPredicate(filter.getSearchText(), cb, root));
+        if (queryTemplates.isTrigramSearch(filter)) {
+            conditions.add(NATIVE_SEARCH_DOCUMENT + " LIKE ?");
+            params.add("%" + filter.getSearchText().toLowerCase() + "%");
+        } else if (StringUtils.isNotBlank(filter.getSearchText())) {
+            conditions.add("""
+                    (lower(email) LIKE ? OR lower(nick_name) LIKE ? OR lower(first_name) LIKE ?
+                    OR lower(last_name) LIKE ? OR CAST(phone_national AS TEXT) LIKE ?)\
+                    """);
+            var q = "%" + filter.getSearchText().toLowerCase() + "%";
+            params.addAll(List.of(q, q, q, q, q));
         }
 
-        return predicates.toArray(Predicate[]::new);
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
     }
 
-    private Predicate createSearchPredicate(String searchText, CriteriaBuilder cb, Root<Account> root) {
-        var q = "%" + searchText.toLowerCase() + "%";
-        var nationalNumber = cb.function(
-                "jsonb_extract_path_text",
-                String.class,
-                root.get(Account_.phoneNumberInfo),
-                cb.literal("national")
-        );
-        var predicate = cb.or(
-                cb.like(cb.lower(root.get(Account_.email)), q),
-                cb.like(cb.lower(root.get(Account_.nickname)), q),
-                cb.like(cb.lower(root.get(Account_.firstName)), q),
-                cb.like(cb.lower(root.get(Account_.lastName)), q),
-                cb.like(nationalNumber, q)
-        );
+    /**
+     * One array parameter whatever the number of values, so the statement text stays the same.
+     */
+    private String nativeAny(String column, Object[] values, List<Object> params) {
+        params.add(values);
+
+        return column + " = ANY(?)";
+    }
 
-        return cb.and(predicate);
+    private record Assignment(String column, Object value, Type type) {
     }
 }
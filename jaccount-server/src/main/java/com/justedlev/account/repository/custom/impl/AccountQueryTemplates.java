@@ -0,0 +1,389 @@
+package com.justedlev.account.repository.custom.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.AccountStatusCode;
+import com.justedlev.account.enumeration.Gender;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Avatar;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.custom.filter.AccountCursor;
+import com.justedlev.account.repository.custom.filter.AccountFilter;
+import com.justedlev.account.repository.entity.PhoneNumber;
+import com.justedlev.account.repository.projection.AccountProjection;
+import com.justedlev.account.util.Converter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JPQL for filtered account queries, rendered once per filter shape and reused.
+ * <p>
+ * A shape is the set of {@link AccountFilter} fields that are present, so the query text only depends
+ * on which conditions apply and never on their values. Collections are bound as list parameters,
+ * Hibernate pads them to a power of two ({@code hibernate.query.in_clause_parameter_padding}),
+ * which keeps the number of distinct SQL statements seen by the plan cache and by PostgreSQL small.
+ * <p>
+ * Projections select only the columns behind the requested {@link AccountField}s, so the jsonb avatar
+ * is neither read nor decoded unless it is asked for.
+ * <p>
+ * {@code account.query.plan.cache} counts the hits and misses of Hibernate's query plan cache, which is what
+ * shapes and padding keep warm across IN list sizes. {@code account.query.templates.cache.hit.ratio} only
+ * covers the rendered templates held here.
+ */
+@Component
+public class AccountQueryTemplates {
+    private static final String ALIAS = "a";
+    private static final String SEARCH_DOCUMENT =
+            "function('account_search_document', a.email, a.nickname, a.firstName, a.lastName, a.phoneNumber.national)";
+    private static final String SIMILARITY_PARAMETER = "similarityText";
+    private static final String SELECT = "select a from Account a";
+    private static final String COUNT = "select count(a) from Account a";
+    private static final String FROM = " from Account a";
+    private final JAccountProperties.Search searchProperties;
+    private final Cache<TemplateKey, String> templates;
+
+    public AccountQueryTemplates(JAccountProperties.Search searchProperties,
+                                 JAccountProperties.Query queryProperties,
+                                 EntityManagerFactory entityManagerFactory,
+                                 MeterRegistry meterRegistry) {
+        this.searchProperties = searchProperties;
+        this.templates = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(queryProperties.getTemplateCacheSize())
+                .recordStats()
+                .build(), "account.query.templates");
+        Gauge.builder("account.query.templates.cache.hit.ratio", templates, cache -> cache.stats().hitRate())
+                .description("Share of filtered account queries served by an already rendered JPQL template")
+                .register(meterRegistry);
+        registerPlanCacheMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics(), meterRegistry);
+    }
+
+    public String select(AccountFilter filter, Sort sort) {
+        return get(new TemplateKey(Kind.SELECT, shapeOf(filter), searchProperties.getMode(), sort, null, null));
+    }
+
+    /**
+     * Tuple query for {@link #toProjection(Tuple)}, no or empty fields select all of them.
+     */
+    public String selectProjection(AccountFilter filter, Sort sort, Set<AccountField> fields) {
+        var selected = CollectionUtils.isEmpty(fields) ? EnumSet.allOf(AccountField.class) : EnumSet.copyOf(fields);
+
+        return get(new TemplateKey(Kind.PROJECTION, shapeOf(filter), searchProperties.getMode(), sort, null, selected));
+    }
+
+    public String count(AccountFilter filter) {
+        return get(new TemplateKey(Kind.COUNT, shapeOf(filter), searchProperties.getMode(), Sort.unsorted(),
+                null, null));
+    }
+
+    /**
+     * Keyset page ordered by the cursor attribute then id, the cursor condition is added once a position is known.
+     */
+    public String selectAfter(AccountFilter filter, AccountCursor cursor) {
+        var sort = Sort.by(cursor.getDirection(), cursor.getAttribute());
+        var positioned = ObjectUtils.allNotNull(cursor.getValue(), cursor.getId());
+
+        return get(new TemplateKey(Kind.CURSOR, shapeOf(filter), searchProperties.getMode(), sort, positioned, null));
+    }
+
+    public <T> TypedQuery<T> bind(TypedQuery<T> query, AccountFilter filter) {
+        var shape = shapeOf(filter);
+
+        if (shape.contains(Field.IDS)) {
+            query.setParameter(Field.IDS.parameter, filter.getIds());
+        }
+
+        if (shape.contains(Field.EMAILS)) {
+            query.setParameter(Field.EMAILS.parameter, Converter.toLowerCase(filter.getEmails()));
+        }
+
+        if (shape.contains(Field.NICKNAMES)) {
+            query.setParameter(Field.NICKNAMES.parameter, Converter.toLowerCase(filter.getNicknames()));
+        }
+
+        if (shape.contains(Field.MODES)) {
+            query.setParameter(Field.MODES.parameter, filter.getModes());
+        }
+
+        if (shape.contains(Field.MODE_AT_FROM)) {
+            query.setParameter(Field.MODE_AT_FROM.parameter, filter.getModeAtFrom());
+        }
+
+        if (shape.contains(Field.MODE_AT_TO)) {
+            query.setParameter(Field.MODE_AT_TO.parameter, filter.getModeAtTo());
+        }
+
+        if (shape.contains(Field.STATUSES)) {
+            query.setParameter(Field.STATUSES.parameter, filter.getStatuses());
+        }
+
+        if (shape.contains(Field.ACTIVATION_CODES)) {
+            query.setParameter(Field.ACTIVATION_CODES.parameter, filter.getActivationCodes());
+        }
+
+        if (shape.contains(Field.SEARCH_TEXT)) {
+            var searchText = filter.getSearchText().toLowerCase();
+            query.setParameter(Field.SEARCH_TEXT.parameter, "%" + searchText + "%");
+
+            if (query.getParameters().stream().anyMatch(p -> SIMILARITY_PARAMETER.equals(p.getName()))) {
+                query.setParameter(SIMILARITY_PARAMETER, searchText);
+            }
+        }
+
+        return query;
+    }
+
+    public <T> TypedQuery<T> bind(TypedQuery<T> query, AccountCursor cursor) {
+        if (ObjectUtils.allNotNull(cursor.getValue(), cursor.getId())) {
+            query.setParameter("cursorValue", cursor.getValue())
+                    .setParameter("cursorId", cursor.getId());
+        }
+
+        return query;
+    }
+
+    /**
+     * Columns left out of the projection stay null.
+     */
+    public AccountProjection toProjection(Tuple tuple) {
+        var values = new HashMap<String, Object>();
+        tuple.getElements().forEach(element -> values.put(element.getAlias(), tuple.get(element)));
+
+        return new AccountProjection(
+                (UUID) values.get("id"),
+                (String) values.get("nickname"),
+                (String) values.get("firstName"),
+                (String) values.get("lastName"),
+                (Timestamp) values.get("birthDate"),
+                (Gender) values.get("gender"),
+                (String) values.get("email"),
+                (PhoneNumber) values.get("phoneNumber"),
+                (Avatar) values.get("avatar"),
+                (AccountStatusCode) values.get("status"),
+                (ModeType) values.get("mode"),
+                (Timestamp) values.get("modeAt"),
+                (Timestamp) values.get("createdAt"));
+    }
+
+    public boolean isTrigramSearch(AccountFilter filter) {
+        return StringUtils.isNotBlank(filter.getSearchText())
+                && searchProperties.getMode() == JAccountProperties.Search.SearchMode.TRIGRAM;
+    }
+
+    private String render(TemplateKey key) {
+        var jpql = new StringBuilder(switch (key.kind()) {
+            case SELECT, CURSOR -> SELECT;
+            case PROJECTION -> selection(key.fields());
+            case COUNT -> COUNT;
+        });
+        var conditions = new ArrayList<String>();
+        key.shape().forEach(field -> conditions.add(condition(field, key.searchMode())));
+
+        if (Boolean.TRUE.equals(key.positioned())) {
+            conditions.add(cursorCondition(key.sort()));
+        }
+
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+
+        return switch (key.kind()) {
+            case COUNT -> jpql.toString();
+            case CURSOR -> QueryUtils.applySorting(jpql.toString(), key.sort().and(idOrder(key.sort())), ALIAS);
+            case SELECT, PROJECTION -> applyOrders(jpql, key);
+        };
+    }
+
+    private Set<Field> shapeOf(AccountFilter filter) {
+        var shape = EnumSet.noneOf(Field.class);
+
+        if (CollectionUtils.isNotEmpty(filter.getIds())) {
+            shape.add(Field.IDS);
+        }
+
+        if (CollectionUtils.isNotEmpty(filter.getEmails())) {
+            shape.add(Field.EMAILS);
+        }
+
+        if (CollectionUtils.isNotEmpty(filter.getNicknames())) {
+            shape.add(Field.NICKNAMES);
+        }
+
+        if (CollectionUtils.isNotEmpty(filter.getModes())) {
+            shape.add(Field.MODES);
+        }
+
+        if (ObjectUtils.isNotEmpty(filter.getModeAtFrom())) {
+            shape.add(Field.MODE_AT_FROM);
+        }
+
+        if (ObjectUtils.isNotEmpty(filter.getModeAtTo())) {
+            shape.add(Field.MODE_AT_TO);
+        }
+
+        if (CollectionUtils.isNotEmpty(filter.getStatuses())) {
+            shape.add(Field.STATUSES);
+        }
+
+        if (CollectionUtils.isNotEmpty(filter.getActivationCodes())) {
+            shape.add(Field.ACTIVATION_CODES);
+        }
+
+        if (StringUtils.isNotBlank(filter.getSearchText())) {
+            shape.add(Field.SEARCH_TEXT);
+        }
+
+        return shape;
+    }
+
+    private String get(TemplateKey key) {
+        return templates.get(key, this::render);
+    }
+
+    private String applyOrders(StringBuilder jpql, TemplateKey key) {
+        if (key.sort().isSorted()) {
+            return QueryUtils.applySorting(jpql.toString(), key.sort(), ALIAS);
+        }
+
+        if (key.shape().contains(Field.SEARCH_TEXT)
+                && key.searchMode() == JAccountProperties.Search.SearchMode.TRIGRAM) {
+            jpql.append(" order by function('similarity', ")
+                    .append(SEARCH_DOCUMENT)
+                    .append(", :similarityText) desc, a.id asc");
+        }
+
+        return jpql.toString();
+    }
+
+    private String condition(Field field, JAccountProperties.Search.SearchMode searchMode) {
+        return switch (field) {
+            case IDS -> "a.id in :ids";
+            case EMAILS -> "lower(a.email) in :emails";
+            case NICKNAMES -> "lower(a.nickname) in :nicknames";
+            case MODES -> "a.mode in :modes";
+            case MODE_AT_FROM -> "a.modeAt >= :modeAtFrom";
+            case MODE_AT_TO -> "a.modeAt <= :modeAtTo";
+            case STATUSES -> "a.status in :statuses";
+            case ACTIVATION_CODES -> "a.activationCode in :activationCodes";
+            case SEARCH_TEXT -> searchMode == JAccountProperties.Search.SearchMode.TRIGRAM
+                    ? SEARCH_DOCUMENT + " like :searchText"
+                    : """
+                    (lower(a.email) like :searchText or lower(a.nickname) like :searchText \
+                    or lower(a.firstName) like :searchText or lower(a.lastName) like :searchText \
+                    or cast(a.phoneNumber.national as string) like :searchText)""";
+        };
+    }
+
+    /**
+     * The id is always selected, presence is looked up by it.
+     */
+    private String selection(Set<AccountField> fields) {
+        return fields.stream()
+                .map(field -> switch (field) {
+                    case NICKNAME -> "a.nickname as nickname";
+                    case FIRST_NAME -> "a.firstName as firstName";
+                    case LAST_NAME -> "a.lastName as lastName";
+                    case BIRTH_DATE -> "a.birthDate as birthDate";
+                    case GENDER -> "a.gender as gender";
+                    case EMAIL -> "a.email as email";
+                    case PHONE_NUMBER_INFO -> "a.phoneNumber as phoneNumber";
+                    case STATUS -> "a.status as status";
+                    case MODE -> "a.mode as mode, a.modeAt as modeAt";
+                    case REGISTRATION_DATE -> "a.createdAt as createdAt";
+                    case AVATAR_URL -> "a.avatar as avatar";
+                })
+                .collect(Collectors.joining(", ", "select a.id as id, ", FROM));
+    }
+
+    private String cursorCondition(Sort sort) {
+        var order = sort.iterator().next();
+        var attribute = ALIAS + "." + order.getProperty();
+        var operator = order.isAscending() ? ">" : "<";
+
+        return "(%1$s %2$s :cursorValue or (%1$s = :cursorValue and a.id %2$s :cursorId))"
+                .formatted(attribute, operator);
+    }
+
+    private Sort idOrder(Sort sort) {
+        return Sort.by(sort.iterator().next().getDirection(), "id");
+    }
+
+    /**
+     * Needs {@code hibernate.generate_statistics}, the counts stay at zero without it.
+     */
+    private static void registerPlanCacheMetrics(Statistics statistics, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("account.query.plan.cache", statistics, Statistics::getQueryPlanCacheHitCount)
+                .tag("result", "hit")
+                .description("Queries whose plan was found in Hibernate's query plan cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("account.query.plan.cache", statistics, Statistics::getQueryPlanCacheMissCount)
+                .tag("result", "miss")
+                .description("Queries Hibernate had to parse and plan again")
+                .register(meterRegistry);
+        Gauge.builder("account.query.plan.cache.hit.ratio", statistics, current -> {
+                    var total = current.getQueryPlanCacheHitCount() + current.getQueryPlanCacheMissCount();
+
+                    return total == 0 ? 0 : (double) current.getQueryPlanCacheHitCount() / total;
+                })
+                .description("Share of queries served by an already built Hibernate query plan")
+                .register(meterRegistry);
+    }
+
+    private enum Kind {
+        SELECT,
+        PROJECTION,
+        COUNT,
+        CURSOR
+    }
+
+    private enum Field {
+        IDS("ids"),
+        EMAILS("emails"),
+        NICKNAMES("nicknames"),
+        MODES("modes"),
+        MODE_AT_FROM("modeAtFrom"),
+        MODE_AT_TO("modeAtTo"),
+        STATUSES("statuses"),
+        ACTIVATION_CODES("activationCodes"),
+        SEARCH_TEXT("searchText");
+
+        private final String parameter;
+
+        Field(String parameter) {
+            this.parameter = parameter;
+        }
+    }
+
+    /**
+     * @param positioned only for {@link Kind#CURSOR}, whether the keyset condition is part of the query
+     * @param fields     only for {@link Kind#PROJECTION}, the selected fields
+     */
+    private record TemplateKey(Kind kind,
+                       Set<Field> shape,
+                       JAccountProperties.Search.SearchMode searchMode,
+                       Sort sort,
+                       Boolean positioned,
+                       Set<AccountField> fields) {
+    }
+}
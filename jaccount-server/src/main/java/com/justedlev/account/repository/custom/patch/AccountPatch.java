@@ -0,0 +1,32 @@
+package com.justedlev.account.repository.custom.patch;
+
+import com.justedlev.account.enumeration.Gender;
+import com.justedlev.account.repository.entity.PhoneNumber;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.ObjectUtils;
+
+import java.sql.Timestamp;
+
+/**
+ * Columns to write, null fields are left untouched.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPatch {
+    private String nickname;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private Timestamp birthDate;
+    private Gender gender;
+    private PhoneNumber phoneNumber;
+
+    public boolean isEmpty() {
+        return ObjectUtils.allNull(nickname, email, firstName, lastName, birthDate, gender, phoneNumber);
+    }
+}
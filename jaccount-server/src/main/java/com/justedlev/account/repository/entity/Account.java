@@ -1,17 +1,23 @@
 package com.justedlev.account.repository.entity;
 
+import com.justedlev.account.common.converter.AccountStatusCodeAttributeConverter;
+import com.justedlev.account.common.converter.GenderAttributeConverter;
+import com.justedlev.account.common.converter.ModeTypeAttributeConverter;
 import com.justedlev.account.enumeration.AccountStatusCode;
 import com.justedlev.account.enumeration.Gender;
 import com.justedlev.account.enumeration.ModeType;
 import com.justedlev.account.model.Avatar;
-import com.justedlev.account.model.PhoneNumberInfo;
 import com.justedlev.account.util.DateTimeUtils;
 import com.justedlev.account.util.Generator;
 import com.justedlev.common.entity.BaseEntity;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
@@ -28,29 +34,41 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "accounts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Account.CACHE_REGION)
+@NaturalIdCache(region = Account.NATURAL_ID_CACHE_REGION)
 public class Account extends BaseEntity {
+    public static final String CACHE_REGION = "account";
+    public static final String NATURAL_ID_CACHE_REGION = "account-natural-id";
+
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "com.justedlev.account.repository.generator.AccountIdGenerator")
     @Column(name = "account_id")
     private UUID id;
     @Column(name = "nick_name", nullable = false)
     private String nickname;
+    /**
+     * Lower cased nickname while the account is not DELETED, kept up to date by {@link #syncLiveNickname()}
+     * and by the accounts_sync_live_nick_name trigger for native writes.
+     */
+    @NaturalId(mutable = true)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "live_nick_name")
+    private String liveNickname;
     @Column(name = "first_name")
     private String firstName;
     @Column(name = "last_name")
     private String lastName;
     @Column(name = "birth_date")
     private Timestamp birthDate;
-    @Enumerated(EnumType.STRING)
-    @Column(name = "gender")
+    @Convert(converter = GenderAttributeConverter.class)
+    @Column(name = "gender_code")
     private Gender gender;
     @Email
     @Column(name = "email", nullable = false)
     private String email;
-    @Type(type = "jsonb")
-    @Column(name = "phone_number_info", columnDefinition = "jsonb")
-    private PhoneNumberInfo phoneNumberInfo;
+    @Embedded
+    private PhoneNumber phoneNumber;
     @Type(type = "jsonb")
     @Column(name = "avatar", columnDefinition = "jsonb")
     private Avatar avatar;
@@ -58,12 +76,12 @@ public class Account extends BaseEntity {
     @Column(name = "activation_code", length = 32, nullable = false, unique = true)
     private String activationCode = Generator.generateActivationCode();
     @Builder.Default
-    @Enumerated(EnumType.STRING)
-    @Column(name = "status", length = 30, nullable = false)
+    @Convert(converter = AccountStatusCodeAttributeConverter.class)
+    @Column(name = "status_code", nullable = false)
     private AccountStatusCode status = AccountStatusCode.UNCONFIRMED;
     @Builder.Default
-    @Enumerated(EnumType.STRING)
-    @Column(name = "mode", nullable = false)
+    @Convert(converter = ModeTypeAttributeConverter.class)
+    @Column(name = "mode_code", nullable = false)
     private ModeType mode = ModeType.OFFLINE;
     @Builder.Default
     @Column(name = "modeAt", nullable = false)
@@ -74,6 +92,14 @@ public class Account extends BaseEntity {
         this.setModeAt(DateTimeUtils.nowTimestamp());
     }
 
+    @PrePersist
+    @PreUpdate
+    private void syncLiveNickname() {
+        this.liveNickname = status == AccountStatusCode.DELETED || nickname == null
+                ? null
+                : nickname.toLowerCase();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,29 @@
+package com.justedlev.account.repository.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+/**
+ * Stored form of {@link com.justedlev.account.model.PhoneNumberInfo}, one typed column per part.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class PhoneNumber implements Serializable {
+    @Column(name = "phone_national")
+    private Long national;
+    @Column(name = "phone_country_code")
+    private Short countryCode;
+    @Column(name = "phone_region_code", length = 2)
+    private String regionCode;
+    @Column(name = "phone_international")
+    private String international;
+}
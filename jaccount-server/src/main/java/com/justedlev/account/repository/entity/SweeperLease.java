@@ -0,0 +1,42 @@
+package com.justedlev.account.repository.entity;
+
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Getter
+@Setter
+@Entity
+@Table(name = "sweeper_leases")
+public class SweeperLease {
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+    @Column(name = "owner", nullable = false)
+    private String owner;
+    @Column(name = "expires_at", nullable = false)
+    private Timestamp expiresAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        SweeperLease lease = (SweeperLease) o;
+        return shard != null && Objects.equals(shard, lease.shard);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,43 @@
+package com.justedlev.account.repository.generator;
+
+import com.justedlev.account.util.Generator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Account ids, time ordered (UUID version 7) unless the {@value #STRATEGY} setting asks for random ones.
+ * Time ordered ids are appended to the right of the primary key index instead of landing on a random page.
+ */
+public class AccountIdGenerator implements IdentifierGenerator {
+    public static final String STRATEGY = "jaccount.account-id.strategy";
+    private Strategy strategy = Strategy.TIME_ORDERED;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Optional.ofNullable(params.getProperty(STRATEGY))
+                .or(() -> Optional.ofNullable(serviceRegistry.getService(ConfigurationService.class)
+                                .getSettings()
+                                .get(STRATEGY))
+                        .map(Object::toString))
+                .map(current -> Strategy.valueOf(current.strip().toUpperCase()))
+                .ifPresent(current -> this.strategy = current);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return strategy == Strategy.RANDOM ? UUID.randomUUID() : Generator.generateTimeOrderedUuid();
+    }
+
+    public enum Strategy {
+        TIME_ORDERED,
+        RANDOM
+    }
+}
@@ -0,0 +1,7 @@
+package com.justedlev.account.repository.projection;
+
+public interface AccountKeyProjection {
+    String getEmail();
+
+    String getNickname();
+}
@@ -0,0 +1,28 @@
+package com.justedlev.account.repository.projection;
+
+import com.justedlev.account.enumeration.AccountStatusCode;
+import com.justedlev.account.enumeration.Gender;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Avatar;
+import com.justedlev.account.repository.entity.PhoneNumber;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Read only row selected straight from the accounts table, never attached to the persistence context.
+ */
+public record AccountProjection(UUID id,
+                                String nickname,
+                                String firstName,
+                                String lastName,
+                                Timestamp birthDate,
+                                Gender gender,
+                                String email,
+                                PhoneNumber phoneNumber,
+                                Avatar avatar,
+                                AccountStatusCode status,
+                                ModeType mode,
+                                Timestamp modeAt,
+                                Timestamp createdAt) {
+}
@@ -0,0 +1,9 @@
+package com.justedlev.account.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Account switched from UNCONFIRMED to ACTUAL, as returned by the confirming UPDATE.
+ */
+public record ConfirmedAccountProjection(UUID id, String nickname) {
+}
@@ -1,32 +1,59 @@
 package com.justedlev.account.service;
 
+import com.justedlev.account.component.model.CountedPage;
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.CountType;
+import com.justedlev.account.enumeration.ExportFormat;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.enumeration.PhoneMatch;
 import com.justedlev.account.model.params.AccountFilterParams;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.model.request.PatchAccountRequest;
+import com.justedlev.account.model.request.CursorPageRequest;
 import com.justedlev.account.model.request.UpdateAccountModeRequest;
 import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.model.response.CursorPageResponse;
+import com.justedlev.account.model.response.UpdateAccountModeResponse;
 import com.justedlev.common.model.request.PaginationRequest;
-import com.justedlev.common.model.response.PageResponse;
 import com.justedlev.common.model.response.ReportResponse;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 
 public interface AccountService {
-    PageResponse<AccountResponse> getPage(PaginationRequest request);
+    CountedPage<AccountResponse> getPage(PaginationRequest request, CountType countType, Set<AccountField> fields);
 
-    PageResponse<AccountResponse> getPageByFilter(AccountFilterParams params, PaginationRequest pagination);
+    CountedPage<AccountResponse> getPageByFilter(AccountFilterParams params,
+                                                 PaginationRequest pagination,
+                                                 CountType countType,
+                                                 Set<AccountField> fields);
+
+    CursorPageResponse<AccountResponse> getCursorPage(AccountFilterParams params, CursorPageRequest request);
+
+    long export(AccountFilterParams params, ExportFormat format, OutputStream output);
 
     AccountResponse getByEmail(String email);
 
     AccountResponse getByNickname(String nickname);
 
+    List<AccountResponse> getByPhoneNumber(String phoneNumber, PhoneMatch match);
+
     ReportResponse confirm(String code);
 
     AccountResponse update(String nickname, AccountRequest request);
 
+    AccountResponse patch(String nickname, PatchAccountRequest request);
+
     AccountResponse updateAvatar(String nickname, MultipartFile photo);
 
-    List<AccountResponse> updateMode(UpdateAccountModeRequest request);
+    UpdateAccountModeResponse updateMode(UpdateAccountModeRequest request);
 
     AccountResponse create(AccountRequest request);
+
+    List<ReportResponse> create(InputStream requests, boolean notify);
+
+    void heartbeat(String nickname, ModeType mode);
 }
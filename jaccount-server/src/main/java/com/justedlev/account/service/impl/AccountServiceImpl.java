@@ -1,36 +1,54 @@
 package com.justedlev.account.service.impl;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.justedlev.account.client.EndpointConstant;
+import com.justedlev.account.common.converter.AccountCursorConverter;
 import com.justedlev.account.common.mapper.AccountMapper;
 import com.justedlev.account.common.mapper.ReportMapper;
+import com.justedlev.account.component.AccountBulkComponent;
+import com.justedlev.account.component.AccountCacheComponent;
 import com.justedlev.account.component.AccountComponent;
+import com.justedlev.account.component.AccountExportComponent;
 import com.justedlev.account.component.AccountModeComponent;
+import com.justedlev.account.component.ConfirmationComponent;
+import com.justedlev.account.component.PresenceComponent;
+import com.justedlev.account.component.model.CountedPage;
 import com.justedlev.account.constant.ExceptionConstant;
 import com.justedlev.account.constant.MailSubjectConstant;
+import com.justedlev.account.enumeration.AccountField;
+import com.justedlev.account.enumeration.CountType;
+import com.justedlev.account.enumeration.ExportFormat;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.enumeration.PhoneMatch;
 import com.justedlev.account.model.params.AccountFilterParams;
 import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.model.request.CursorPageRequest;
+import com.justedlev.account.model.request.PatchAccountRequest;
 import com.justedlev.account.model.request.UpdateAccountModeRequest;
 import com.justedlev.account.model.response.AccountResponse;
+import com.justedlev.account.model.response.CursorPageResponse;
+import com.justedlev.account.model.response.UpdateAccountModeResponse;
 import com.justedlev.account.properties.JAccountProperties;
-import com.justedlev.account.repository.custom.filter.AccountFilter;
 import com.justedlev.account.repository.entity.Account;
 import com.justedlev.account.service.AccountService;
 import com.justedlev.common.model.request.PaginationRequest;
-import com.justedlev.common.model.response.PageResponse;
 import com.justedlev.common.model.response.ReportResponse;
 import com.justedlev.notification.model.request.SendTemplateMailRequest;
 import com.justedlev.notification.queue.JNotificationQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -39,59 +57,85 @@ public class AccountServiceImpl implements AccountService {
     private final AccountMapper accountMapper;
     private final ReportMapper reportMapper;
     private final AccountModeComponent accountModeComponent;
+    private final PresenceComponent presenceComponent;
     private final JNotificationQueue notificationQueue;
     private final JAccountProperties properties;
-    private final ModelMapper modelMapper;
+    private final AccountCursorConverter cursorConverter;
+    private final AccountCacheComponent accountCacheComponent;
+    private final ConfirmationComponent confirmationComponent;
+    private final AccountBulkComponent accountBulkComponent;
+    private final AccountExportComponent accountExportComponent;
+    private final ObjectMapper objectMapper;
 
     @Override
-    public PageResponse<AccountResponse> getPage(PaginationRequest request) {
-        var page = accountComponent.getPage(request.toPageRequest())
+    public CountedPage<AccountResponse> getPage(PaginationRequest request,
+                                                CountType countType,
+                                                Set<AccountField> fields) {
+        return accountComponent.getPage(request.toPageRequest(), countType, fields)
                 .map(accountMapper::map);
-
-        return PageResponse.from(page);
     }
 
     @Override
-    public PageResponse<AccountResponse> getPageByFilter(AccountFilterParams params, PaginationRequest pagination) {
-        var filter = modelMapper.typeMap(AccountFilterParams.class, AccountFilter.class)
-                .addMapping(AccountFilterParams::getQ, AccountFilter::setSearchText)
-                .map(params);
-        var page = accountComponent.getPageByFilter(filter, pagination.toPageRequest())
+    public CountedPage<AccountResponse> getPageByFilter(AccountFilterParams params,
+                                                        PaginationRequest pagination,
+                                                        CountType countType,
+                                                        Set<AccountField> fields) {
+        var filter = accountMapper.map(params);
+
+        return accountComponent.getPageByFilter(filter, pagination.toPageRequest(), countType, fields)
                 .map(accountMapper::map);
+    }
+
+    @Override
+    public CursorPageResponse<AccountResponse> getCursorPage(AccountFilterParams params, CursorPageRequest request) {
+        var cursor = cursorConverter.convert(request);
+        var accounts = accountComponent.getByCursor(accountMapper.map(params), cursor, request.getSize() + 1);
+        var hasNext = accounts.size() > request.getSize();
+        var content = hasNext ? accounts.subList(0, request.getSize()) : accounts;
+        var next = hasNext ? cursorConverter.toToken(cursor, content.get(content.size() - 1)) : null;
+
+        return CursorPageResponse.<AccountResponse>builder()
+                .content(content.stream()
+                        .map(accountMapper::map)
+                        .toList())
+                .size(content.size())
+                .hasNext(hasNext)
+                .next(next)
+                .build();
+    }
 
-        return PageResponse.from(page);
+    @Override
+    public long export(AccountFilterParams params, ExportFormat format, OutputStream output) {
+        return accountExportComponent.export(accountMapper.map(params), format, output);
     }
 
     @Override
     public AccountResponse getByEmail(String email) {
-        var filter = AccountFilter.builder()
-                .emails(Set.of(email))
-                .build();
-        var account = accountComponent.getByFilter(filter)
-                .stream()
-                .findFirst()
+        return accountCacheComponent.getByEmail(email, () -> accountComponent.getByEmail(email))
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format(ExceptionConstant.USER_NOT_EXISTS, email)));
-
-        return accountMapper.map(account);
     }
 
     @Override
     public AccountResponse getByNickname(String nickname) {
-        var account = accountComponent.getByNickname(nickname)
-                .stream()
-                .findFirst()
+        return accountCacheComponent.getByNickname(nickname, () -> accountComponent.getByNickname(nickname))
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format(ExceptionConstant.USER_NOT_EXISTS, nickname)));
+    }
 
-        return accountMapper.map(account);
+    @Override
+    public List<AccountResponse> getByPhoneNumber(String phoneNumber, PhoneMatch match) {
+        return accountComponent.getByPhoneNumber(phoneNumber, match)
+                .stream()
+                .map(accountMapper::map)
+                .toList();
     }
 
     @Override
     public ReportResponse confirm(String code) {
-        var account = accountComponent.confirm(code);
+        var nickname = confirmationComponent.confirm(code);
 
-        return reportMapper.toReport(String.format("User %s confirmed account", account.getNickname()));
+        return reportMapper.toReport(String.format("User %s confirmed account", nickname));
     }
 
     @Override
@@ -101,6 +145,13 @@ public class AccountServiceImpl implements AccountService {
         return accountMapper.map(account);
     }
 
+    @Override
+    public AccountResponse patch(String nickname, PatchAccountRequest request) {
+        var account = accountComponent.patch(nickname, accountMapper.map(request));
+
+        return accountMapper.map(account);
+    }
+
     @Override
     public AccountResponse updateAvatar(String nickname, MultipartFile photo) {
         var account = accountComponent.update(nickname, photo);
@@ -109,17 +160,36 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public List<AccountResponse> updateMode(UpdateAccountModeRequest request) {
+    public UpdateAccountModeResponse updateMode(UpdateAccountModeRequest request) {
         return accountModeComponent.updateMode(request);
     }
 
     @Override
     public AccountResponse create(AccountRequest request) {
         var account = accountComponent.create(request);
-        var saved = accountComponent.save(account);
-        sendConfirmationEmail(saved);
+        sendConfirmationEmail(account);
+
+        return accountMapper.map(account);
+    }
+
+    @Override
+    @SneakyThrows
+    public List<ReportResponse> create(InputStream requests, boolean notify) {
+        Consumer<Account> onCreated = notify ? this::sendConfirmationEmail : account -> {
+        };
+
+        try (MappingIterator<AccountRequest> iterator = objectMapper.readerFor(AccountRequest.class)
+                .readValues(requests)) {
+            return accountBulkComponent.create(iterator, onCreated);
+        }
+    }
 
-        return accountMapper.map(saved);
+    @Override
+    public void heartbeat(String nickname, ModeType mode) {
+        var id = accountCacheComponent.getIdByNickname(nickname, () -> accountComponent.getByNickname(nickname))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format(ExceptionConstant.USER_NOT_EXISTS, nickname)));
+        presenceComponent.heartbeat(id, mode);
     }
 
     @SneakyThrows
@@ -1,6 +1,7 @@
 package com.justedlev.account.service.impl;
 
 import com.justedlev.account.component.HistoryComponent;
+import com.justedlev.account.enumeration.AccountField;
 import com.justedlev.account.model.request.HistoryRequest;
 import com.justedlev.account.model.response.AccountHistoryResponse;
 import com.justedlev.account.service.HistoryService;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -15,7 +17,7 @@ public class HistoryServiceImpl implements HistoryService {
     private final HistoryComponent historyComponent;
 
     @Override
-    public List<AccountHistoryResponse> getAccounts(HistoryRequest request) {
-        return historyComponent.getAccounts(request);
+    public List<AccountHistoryResponse> getAccounts(HistoryRequest request, Set<AccountField> fields) {
+        return historyComponent.getAccounts(request, fields);
     }
 }
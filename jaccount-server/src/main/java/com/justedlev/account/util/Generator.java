@@ -3,10 +3,19 @@ package com.justedlev.account.util;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
 
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 public final class Generator {
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    /**
+     * Unix millis of the last time ordered UUID shifted left by {@link #SEQUENCE_BITS}, plus its sequence.
+     */
+    private static final AtomicLong LAST_TIME_ORDERED = new AtomicLong();
+
     private Generator() {
         throw new IllegalStateException("Util class");
     }
@@ -32,6 +41,22 @@ public final class Generator {
         return RandomStringUtils.randomAlphanumeric(32);
     }
 
+    /**
+     * UUID version 7: 48 bits of unix millis, 12 bits of sequence, then 62 random bits.
+     * The sequence starts at a random value in the lower half every millisecond and is incremented for ids
+     * generated within the same millisecond, so ids of one process are strictly increasing even across threads.
+     * Processes only share the clock, the random bits keep their ids apart.
+     */
+    public static UUID generateTimeOrderedUuid() {
+        var random = ThreadLocalRandom.current();
+        var candidate = (System.currentTimeMillis() << SEQUENCE_BITS) | random.nextInt(1 << (SEQUENCE_BITS - 1));
+        var timeAndSequence = LAST_TIME_ORDERED.accumulateAndGet(candidate, (last, next) -> Math.max(last + 1, next));
+        var mostSigBits = ((timeAndSequence >>> SEQUENCE_BITS) << 16) | 0x7000L | (timeAndSequence & SEQUENCE_MASK);
+        var leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
     public static String generatePassword() {
         var symbols = "QWERTYUIOPASDFGHJKLZXCVBNMqwertyuiopasdfghjklzxcvbnm1234567890!@#$%^&?";
 
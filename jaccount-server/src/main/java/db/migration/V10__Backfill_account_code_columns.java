@@ -0,0 +1,63 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills status_code, mode_code and gender_code of existing accounts, walking the table by primary key.
+ * The rows are only touched, the accounts_sync_codes trigger of V9 derives the codes from the names.
+ * Every batch commits on its own, a failed run can simply be repeated.
+ * <p>
+ * Status and mode codes are then required by check constraints, added {@code NOT VALID} under a short lock
+ * and validated separately, which scans the table without blocking writes.
+ */
+public class V10__Backfill_account_code_columns extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 5_000;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final String BACKFILL_QUERY = """
+            WITH batch AS (
+                SELECT account_id FROM accounts
+                WHERE account_id > ?
+                ORDER BY account_id
+                LIMIT ?
+            ), filled AS (
+                UPDATE accounts a
+                SET status = a.status
+                FROM batch b
+                WHERE a.account_id = b.account_id
+                  AND (a.status_code IS NULL OR a.mode_code IS NULL
+                    OR (a.gender_code IS NULL AND a.gender IS NOT NULL))
+            )
+            SELECT account_id FROM batch ORDER BY account_id DESC LIMIT 1
+            """;
+    private static final List<String> REQUIRE_QUERIES = List.of(
+            "ALTER TABLE accounts DROP CONSTRAINT IF EXISTS ck_accounts_status_code_not_null",
+            "ALTER TABLE accounts DROP CONSTRAINT IF EXISTS ck_accounts_mode_code_not_null",
+            "ALTER TABLE accounts ADD CONSTRAINT ck_accounts_status_code_not_null CHECK (status_code IS NOT NULL) NOT VALID",
+            "ALTER TABLE accounts ADD CONSTRAINT ck_accounts_mode_code_not_null CHECK (mode_code IS NOT NULL) NOT VALID",
+            "ALTER TABLE accounts VALIDATE CONSTRAINT ck_accounts_status_code_not_null",
+            "ALTER TABLE accounts VALIDATE CONSTRAINT ck_accounts_mode_code_not_null"
+    );
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        var jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        var lastIds = List.of(FIRST_ID);
+
+        while (!lastIds.isEmpty()) {
+            lastIds = jdbcTemplate.queryForList(BACKFILL_QUERY, UUID.class, lastIds.get(0), BATCH_SIZE);
+        }
+
+        REQUIRE_QUERIES.forEach(jdbcTemplate::execute);
+    }
+}
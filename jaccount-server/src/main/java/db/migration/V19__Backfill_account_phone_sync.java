@@ -0,0 +1,50 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills whichever phone representation is missing on accounts written since V7 by a version that only knew
+ * the other one, walking the table by primary key. The rows are only touched, the accounts_sync_codes trigger
+ * of V18 derives the missing side.
+ * Every batch commits on its own, a failed run can simply be repeated.
+ */
+public class V19__Backfill_account_phone_sync extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 5_000;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final String BACKFILL_QUERY = """
+            WITH batch AS (
+                SELECT account_id FROM accounts
+                WHERE account_id > ?
+                ORDER BY account_id
+                LIMIT ?
+            ), filled AS (
+                UPDATE accounts a
+                SET status_code = a.status_code
+                FROM batch b
+                WHERE a.account_id = b.account_id
+                  AND (a.phone_national IS NULL) <> (a.phone_number_info IS NULL)
+            )
+            SELECT account_id FROM batch ORDER BY account_id DESC LIMIT 1
+            """;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        var jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        var lastIds = List.of(FIRST_ID);
+
+        while (!lastIds.isEmpty()) {
+            lastIds = jdbcTemplate.queryForList(BACKFILL_QUERY, UUID.class, lastIds.get(0), BATCH_SIZE);
+        }
+    }
+}
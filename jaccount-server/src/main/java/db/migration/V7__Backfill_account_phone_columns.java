@@ -0,0 +1,53 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Copies phone_number_info into the typed phone columns, walking the table by primary key.
+ * Every batch commits on its own, so row locks are only held for one batch and the table stays writable.
+ * Already filled rows are skipped, a failed run can simply be repeated.
+ */
+public class V7__Backfill_account_phone_columns extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 5_000;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final String BACKFILL_QUERY = """
+            WITH batch AS (
+                SELECT account_id FROM accounts
+                WHERE account_id > ?
+                ORDER BY account_id
+                LIMIT ?
+            ), filled AS (
+                UPDATE accounts a
+                SET phone_national      = CAST(a.phone_number_info ->> 'national' AS BIGINT),
+                    phone_country_code  = CAST(a.phone_number_info ->> 'countryCode' AS SMALLINT),
+                    phone_region_code   = a.phone_number_info ->> 'regionCode',
+                    phone_international = a.phone_number_info ->> 'international'
+                FROM batch b
+                WHERE a.account_id = b.account_id
+                  AND a.phone_number_info IS NOT NULL
+                  AND a.phone_national IS NULL
+            )
+            SELECT account_id FROM batch ORDER BY account_id DESC LIMIT 1
+            """;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        var jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        var lastIds = List.of(FIRST_ID);
+
+        while (!lastIds.isEmpty()) {
+            lastIds = jdbcTemplate.queryForList(BACKFILL_QUERY, UUID.class, lastIds.get(0), BATCH_SIZE);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- CONCURRENTLY cannot run in a transaction, Flyway runs this migration without one.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_mode_code_mode_at
+    ON accounts (mode_code, mode_at);
+
+-- 2 is UNCONFIRMED
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_unconfirmed_code_activation_code
+    ON accounts (activation_code)
+    WHERE status_code = 2;
+
+DROP INDEX CONCURRENTLY IF EXISTS ix_accounts_mode_mode_at;
+DROP INDEX CONCURRENTLY IF EXISTS ix_accounts_unconfirmed_activation_code;
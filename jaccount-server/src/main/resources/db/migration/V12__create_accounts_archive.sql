@@ -0,0 +1,12 @@
+-- DELETED and long expired UNCONFIRMED accounts moved out of accounts, see ArchiveComponentImpl.
+-- Same columns in the same order as accounts followed by archived_at, rows are moved with SELECT *.
+-- Every later migration adding a column to accounts has to add it here too.
+CREATE TABLE IF NOT EXISTS accounts_archive
+(
+    LIKE accounts INCLUDING DEFAULTS,
+    archived_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (account_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_accounts_archive_lower_email
+    ON accounts_archive (lower(email));
@@ -0,0 +1,9 @@
+-- Archive candidates, the codes are 5 DELETED and 2 UNCONFIRMED.
+-- CONCURRENTLY cannot run in a transaction, Flyway runs this migration without one.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_deleted_updated_at
+    ON accounts (updated_at)
+    WHERE status_code = 5;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_unconfirmed_created_at
+    ON accounts (created_at)
+    WHERE status_code = 2;
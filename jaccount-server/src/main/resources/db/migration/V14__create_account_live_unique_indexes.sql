@@ -0,0 +1,12 @@
+-- One live account per email and per nickname, case insensitive. DELETED (code 5) accounts do not count,
+-- their email and nickname can be registered again. Account creation relies on these through ON CONFLICT.
+-- Live duplicates already in the table make the build fail and leave an invalid index behind,
+-- they have to be resolved and the index dropped before the migration is repeated.
+-- CONCURRENTLY cannot run in a transaction, Flyway runs this migration without one.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_accounts_live_lower_email
+    ON accounts (lower(email))
+    WHERE status_code <> 5;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_accounts_live_lower_nick_name
+    ON accounts (lower(nick_name))
+    WHERE status_code <> 5;
@@ -0,0 +1,55 @@
+-- Lower cased nickname of accounts that are not DELETED, NULL otherwise. It is the natural id of Account,
+-- unique where ux_accounts_live_lower_nick_name was, so a nickname resolves to at most one account.
+-- Added nullable and without default so the table is not rewritten, V16 fills it in batches.
+ALTER TABLE accounts
+    ADD COLUMN IF NOT EXISTS live_nick_name VARCHAR(255);
+
+-- Archived accounts are never live, the column only keeps both tables alike.
+-- It comes after archived_at here, rows are copied by column name from now on, see AccountCustomRepositoryImpl.
+ALTER TABLE accounts_archive
+    ADD COLUMN IF NOT EXISTS live_nick_name VARCHAR(255);
+
+-- Same as V9, and live_nick_name follows nick_name and status_code on every write.
+CREATE OR REPLACE FUNCTION accounts_sync_codes()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    statuses CONSTANT TEXT[] := ARRAY ['ACTUAL', 'UNCONFIRMED', 'RESTORED', 'DEACTIVATED', 'DELETED'];
+    modes    CONSTANT TEXT[] := ARRAY ['ONLINE', 'OFFLINE', 'HIDDEN', 'SLEEP'];
+    genders  CONSTANT TEXT[] := ARRAY ['MALE', 'FEMALE'];
+BEGIN
+    -- On update the side that changed wins, the other one is recomputed
+    IF TG_OP = 'UPDATE' THEN
+        IF NEW.status IS DISTINCT FROM OLD.status THEN
+            NEW.status_code := NULL;
+        ELSIF NEW.status_code IS DISTINCT FROM OLD.status_code THEN
+            NEW.status := NULL;
+        END IF;
+
+        IF NEW.mode IS DISTINCT FROM OLD.mode THEN
+            NEW.mode_code := NULL;
+        ELSIF NEW.mode_code IS DISTINCT FROM OLD.mode_code THEN
+            NEW.mode := NULL;
+        END IF;
+
+        IF NEW.gender IS DISTINCT FROM OLD.gender THEN
+            NEW.gender_code := NULL;
+        ELSIF NEW.gender_code IS DISTINCT FROM OLD.gender_code THEN
+            NEW.gender := NULL;
+        END IF;
+    END IF;
+
+    NEW.status_code := coalesce(NEW.status_code, array_position(statuses, CAST(NEW.status AS TEXT)));
+    NEW.mode_code := coalesce(NEW.mode_code, array_position(modes, CAST(NEW.mode AS TEXT)));
+    NEW.gender_code := coalesce(NEW.gender_code, array_position(genders, CAST(NEW.gender AS TEXT)));
+    NEW.status := coalesce(NEW.status, statuses[NEW.status_code]);
+    NEW.mode := coalesce(NEW.mode, modes[NEW.mode_code]);
+    NEW.gender := coalesce(NEW.gender, genders[NEW.gender_code]);
+    -- 5 is DELETED
+    NEW.live_nick_name := CASE WHEN NEW.status_code <> 5 THEN lower(NEW.nick_name) END;
+
+    RETURN NEW;
+END;
+$$;
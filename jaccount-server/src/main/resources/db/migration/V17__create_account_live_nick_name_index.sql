@@ -0,0 +1,8 @@
+-- Replaces ux_accounts_live_lower_nick_name, live_nick_name holds the same expression under the same condition.
+-- Natural id lookups and ON CONFLICT of account creation and nickname patches use it from here on.
+-- Live duplicates cannot exist, V14 already enforced the same uniqueness.
+-- CONCURRENTLY cannot run in a transaction, Flyway runs this migration without one.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_accounts_live_nick_name
+    ON accounts (live_nick_name);
+
+DROP INDEX CONCURRENTLY IF EXISTS ux_accounts_live_lower_nick_name;
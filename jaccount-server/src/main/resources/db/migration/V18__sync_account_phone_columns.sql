@@ -0,0 +1,69 @@
+-- Same as V15, and the typed phone columns of V6 and phone_number_info now follow each other too,
+-- so versions reading either one see the phone numbers written by the other while they run side by side.
+-- On update the side that changed wins, the other one is derived from it. V19 fills rows written meanwhile.
+CREATE OR REPLACE FUNCTION accounts_sync_codes()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    statuses CONSTANT TEXT[] := ARRAY ['ACTUAL', 'UNCONFIRMED', 'RESTORED', 'DEACTIVATED', 'DELETED'];
+    modes    CONSTANT TEXT[] := ARRAY ['ONLINE', 'OFFLINE', 'HIDDEN', 'SLEEP'];
+    genders  CONSTANT TEXT[] := ARRAY ['MALE', 'FEMALE'];
+BEGIN
+    -- On update the side that changed wins, the other one is recomputed
+    IF TG_OP = 'UPDATE' THEN
+        IF NEW.status IS DISTINCT FROM OLD.status THEN
+            NEW.status_code := NULL;
+        ELSIF NEW.status_code IS DISTINCT FROM OLD.status_code THEN
+            NEW.status := NULL;
+        END IF;
+
+        IF NEW.mode IS DISTINCT FROM OLD.mode THEN
+            NEW.mode_code := NULL;
+        ELSIF NEW.mode_code IS DISTINCT FROM OLD.mode_code THEN
+            NEW.mode := NULL;
+        END IF;
+
+        IF NEW.gender IS DISTINCT FROM OLD.gender THEN
+            NEW.gender_code := NULL;
+        ELSIF NEW.gender_code IS DISTINCT FROM OLD.gender_code THEN
+            NEW.gender := NULL;
+        END IF;
+
+        IF NEW.phone_number_info IS DISTINCT FROM OLD.phone_number_info THEN
+            NEW.phone_national := NULL;
+            NEW.phone_country_code := NULL;
+            NEW.phone_region_code := NULL;
+            NEW.phone_international := NULL;
+        ELSIF (NEW.phone_national, NEW.phone_country_code, NEW.phone_region_code, NEW.phone_international)
+            IS DISTINCT FROM (OLD.phone_national, OLD.phone_country_code, OLD.phone_region_code,
+                              OLD.phone_international) THEN
+            NEW.phone_number_info := NULL;
+        END IF;
+    END IF;
+
+    NEW.status_code := coalesce(NEW.status_code, array_position(statuses, CAST(NEW.status AS TEXT)));
+    NEW.mode_code := coalesce(NEW.mode_code, array_position(modes, CAST(NEW.mode AS TEXT)));
+    NEW.gender_code := coalesce(NEW.gender_code, array_position(genders, CAST(NEW.gender AS TEXT)));
+    NEW.status := coalesce(NEW.status, statuses[NEW.status_code]);
+    NEW.mode := coalesce(NEW.mode, modes[NEW.mode_code]);
+    NEW.gender := coalesce(NEW.gender, genders[NEW.gender_code]);
+    -- Keys as written by PhoneNumberInfo
+    IF NEW.phone_national IS NULL AND NEW.phone_number_info IS NOT NULL THEN
+        NEW.phone_national := CAST(NEW.phone_number_info ->> 'national' AS BIGINT);
+        NEW.phone_country_code := CAST(NEW.phone_number_info ->> 'countryCode' AS SMALLINT);
+        NEW.phone_region_code := NEW.phone_number_info ->> 'regionCode';
+        NEW.phone_international := NEW.phone_number_info ->> 'international';
+    ELSIF NEW.phone_number_info IS NULL AND NEW.phone_national IS NOT NULL THEN
+        NEW.phone_number_info := jsonb_build_object('national', NEW.phone_national,
+                                                    'international', NEW.phone_international,
+                                                    'countryCode', NEW.phone_country_code,
+                                                    'regionCode', NEW.phone_region_code);
+    END IF;
+    -- 5 is DELETED
+    NEW.live_nick_name := CASE WHEN NEW.status_code <> 5 THEN lower(NEW.nick_name) END;
+
+    RETURN NEW;
+END;
+$$;
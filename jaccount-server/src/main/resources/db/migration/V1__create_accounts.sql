@@ -0,0 +1,19 @@
+-- Existing databases are baselined at version 0, IF NOT EXISTS keeps this a no-op for them.
+CREATE TABLE IF NOT EXISTS accounts
+(
+    account_id        UUID PRIMARY KEY,
+    nick_name         VARCHAR(255) NOT NULL,
+    first_name        VARCHAR(255),
+    last_name         VARCHAR(255),
+    birth_date        TIMESTAMP,
+    gender            VARCHAR(255),
+    email             VARCHAR(255) NOT NULL,
+    phone_number_info JSONB,
+    avatar            JSONB,
+    activation_code   VARCHAR(32)  NOT NULL UNIQUE,
+    status            VARCHAR(30)  NOT NULL,
+    mode              VARCHAR(255) NOT NULL,
+    mode_at           TIMESTAMP    NOT NULL,
+    created_at        TIMESTAMP,
+    updated_at        TIMESTAMP
+);
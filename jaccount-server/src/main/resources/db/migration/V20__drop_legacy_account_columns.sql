@@ -0,0 +1,41 @@
+-- Contract step of V9 and V18, the codes and the typed phone columns are the only ones read and written from here on.
+-- It must not run while a version reading or writing status, mode, gender or phone_number_info is still up.
+-- A dropped column is only hidden, its bytes go away as rows are written again or on VACUUM FULL.
+
+-- live_nick_name is the only column still derived on write, only writes touching its inputs fire the trigger.
+-- Presence flushes and the mode sweeper set mode_code and mode_at only and no longer pay for it.
+CREATE OR REPLACE FUNCTION accounts_sync_live_nick_name()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    -- 5 is DELETED
+    NEW.live_nick_name := CASE WHEN NEW.status_code <> 5 THEN lower(NEW.nick_name) END;
+
+    RETURN NEW;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS accounts_sync_codes ON accounts;
+DROP TRIGGER IF EXISTS accounts_sync_live_nick_name ON accounts;
+CREATE TRIGGER accounts_sync_live_nick_name
+    BEFORE INSERT OR UPDATE OF nick_name, status_code
+    ON accounts
+    FOR EACH ROW
+EXECUTE PROCEDURE accounts_sync_live_nick_name();
+
+DROP FUNCTION IF EXISTS accounts_sync_codes();
+
+ALTER TABLE accounts
+    DROP COLUMN IF EXISTS status,
+    DROP COLUMN IF EXISTS mode,
+    DROP COLUMN IF EXISTS gender,
+    DROP COLUMN IF EXISTS phone_number_info;
+
+-- Rows are archived by column name, see AccountCustomRepositoryImpl, both tables lose the same columns.
+ALTER TABLE accounts_archive
+    DROP COLUMN IF EXISTS status,
+    DROP COLUMN IF EXISTS mode,
+    DROP COLUMN IF EXISTS gender,
+    DROP COLUMN IF EXISTS phone_number_info;
@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS sweeper_leases
+(
+    shard      INTEGER PRIMARY KEY,
+    owner      VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP    NOT NULL
+);
@@ -0,0 +1,20 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Lower cased document searched by AccountFilter.searchText, must stay IMMUTABLE to back the index below.
+CREATE OR REPLACE FUNCTION account_search_document(email TEXT,
+                                                   nick_name TEXT,
+                                                   first_name TEXT,
+                                                   last_name TEXT,
+                                                   phone_number_info JSONB)
+    RETURNS TEXT
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT lower(coalesce(email, '') || ' ' ||
+             coalesce(nick_name, '') || ' ' ||
+             coalesce(first_name, '') || ' ' ||
+             coalesce(last_name, '') || ' ' ||
+             coalesce(phone_number_info ->> 'national', ''))
+$$;
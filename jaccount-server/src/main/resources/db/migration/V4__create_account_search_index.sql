@@ -0,0 +1,4 @@
+-- CONCURRENTLY cannot run in a transaction, Flyway runs this migration without one.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_search_document
+    ON accounts USING gin (account_search_document(email, nick_name, first_name, last_name, phone_number_info)
+                           gin_trgm_ops);
@@ -0,0 +1,14 @@
+-- Indexes behind AccountFilter and the mode sweeper, see AccountIndexPlanTests.
+-- CONCURRENTLY cannot run in a transaction, Flyway runs this migration without one.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_lower_email
+    ON accounts (lower(email));
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_lower_nick_name
+    ON accounts (lower(nick_name));
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_mode_mode_at
+    ON accounts (mode, mode_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_unconfirmed_activation_code
+    ON accounts (activation_code)
+    WHERE status = 'UNCONFIRMED';
@@ -0,0 +1,37 @@
+-- Nullable columns without defaults, added without rewriting the table. Filled by V7, phone_number_info is kept
+-- until no running version reads it.
+ALTER TABLE accounts
+    ADD COLUMN IF NOT EXISTS phone_national      BIGINT,
+    ADD COLUMN IF NOT EXISTS phone_country_code  SMALLINT,
+    ADD COLUMN IF NOT EXISTS phone_region_code   VARCHAR(2),
+    ADD COLUMN IF NOT EXISTS phone_international VARCHAR(255);
+
+-- Same document as before, the national number now comes from its own column.
+CREATE OR REPLACE FUNCTION account_search_document(email TEXT,
+                                                   nick_name TEXT,
+                                                   first_name TEXT,
+                                                   last_name TEXT,
+                                                   phone_national BIGINT)
+    RETURNS TEXT
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT lower(coalesce(email, '') || ' ' ||
+             coalesce(nick_name, '') || ' ' ||
+             coalesce(first_name, '') || ' ' ||
+             coalesce(last_name, '') || ' ' ||
+             coalesce(CAST(phone_national AS TEXT), ''))
+$$;
+
+-- E.164 digits without the leading +, what phone prefix lookups match against.
+CREATE OR REPLACE FUNCTION account_phone_digits(phone_country_code SMALLINT, phone_national BIGINT)
+    RETURNS TEXT
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT CAST(phone_country_code AS TEXT) || CAST(phone_national AS TEXT)
+$$;
@@ -0,0 +1,12 @@
+-- CONCURRENTLY cannot run in a transaction, Flyway runs this migration without one.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_phone
+    ON accounts (phone_country_code, phone_national);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_phone_digits
+    ON accounts (account_phone_digits(phone_country_code, phone_national) text_pattern_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_search_phone_document
+    ON accounts USING gin (account_search_document(email, nick_name, first_name, last_name, phone_national)
+                           gin_trgm_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS ix_accounts_search_document;
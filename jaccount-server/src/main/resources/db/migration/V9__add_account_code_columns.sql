@@ -0,0 +1,63 @@
+-- smallint codes replacing the varchar status, mode and gender, see EnumCodeAttributeConverter.
+-- The arrays below list the names in code order, they must match the converters.
+-- Columns are added nullable and without defaults so the table is not rewritten, V10 fills them in batches.
+ALTER TABLE accounts
+    ADD COLUMN IF NOT EXISTS status_code SMALLINT,
+    ADD COLUMN IF NOT EXISTS mode_code   SMALLINT,
+    ADD COLUMN IF NOT EXISTS gender_code SMALLINT;
+
+-- Versions writing only the codes leave the names empty, the trigger fills them.
+ALTER TABLE accounts
+    ALTER COLUMN status DROP NOT NULL,
+    ALTER COLUMN mode DROP NOT NULL;
+
+-- Keeps names and codes in step while versions writing either one run side by side.
+-- Rows without codes get them on any update, which is how V10 backfills.
+CREATE OR REPLACE FUNCTION accounts_sync_codes()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    statuses CONSTANT TEXT[] := ARRAY ['ACTUAL', 'UNCONFIRMED', 'RESTORED', 'DEACTIVATED', 'DELETED'];
+    modes    CONSTANT TEXT[] := ARRAY ['ONLINE', 'OFFLINE', 'HIDDEN', 'SLEEP'];
+    genders  CONSTANT TEXT[] := ARRAY ['MALE', 'FEMALE'];
+BEGIN
+    -- On update the side that changed wins, the other one is recomputed
+    IF TG_OP = 'UPDATE' THEN
+        IF NEW.status IS DISTINCT FROM OLD.status THEN
+            NEW.status_code := NULL;
+        ELSIF NEW.status_code IS DISTINCT FROM OLD.status_code THEN
+            NEW.status := NULL;
+        END IF;
+
+        IF NEW.mode IS DISTINCT FROM OLD.mode THEN
+            NEW.mode_code := NULL;
+        ELSIF NEW.mode_code IS DISTINCT FROM OLD.mode_code THEN
+            NEW.mode := NULL;
+        END IF;
+
+        IF NEW.gender IS DISTINCT FROM OLD.gender THEN
+            NEW.gender_code := NULL;
+        ELSIF NEW.gender_code IS DISTINCT FROM OLD.gender_code THEN
+            NEW.gender := NULL;
+        END IF;
+    END IF;
+
+    NEW.status_code := coalesce(NEW.status_code, array_position(statuses, CAST(NEW.status AS TEXT)));
+    NEW.mode_code := coalesce(NEW.mode_code, array_position(modes, CAST(NEW.mode AS TEXT)));
+    NEW.gender_code := coalesce(NEW.gender_code, array_position(genders, CAST(NEW.gender AS TEXT)));
+    NEW.status := coalesce(NEW.status, statuses[NEW.status_code]);
+    NEW.mode := coalesce(NEW.mode, modes[NEW.mode_code]);
+    NEW.gender := coalesce(NEW.gender, genders[NEW.gender_code]);
+
+    RETURN NEW;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS accounts_sync_codes ON accounts;
+CREATE TRIGGER accounts_sync_codes
+    BEFORE INSERT OR UPDATE
+    ON accounts
+    FOR EACH ROW
+EXECUTE PROCEDURE accounts_sync_codes();
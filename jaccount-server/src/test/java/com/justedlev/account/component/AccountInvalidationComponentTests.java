@@ -0,0 +1,84 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.component.impl.AccountInvalidationComponentImpl;
+import com.justedlev.account.model.event.AccountInvalidationEvent;
+import com.justedlev.account.model.event.AccountInvalidationMessage;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.entity.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two replicas joined by an in memory bus, what one of them invalidates has to be evicted by the other.
+ */
+class AccountInvalidationComponentTests {
+    private AccountCacheComponent remoteCache;
+    private AccountInvalidationComponent local;
+
+    @BeforeEach
+    void setUp() {
+        var bus = new InMemoryBus();
+        var properties = new JAccountProperties();
+        properties.setInvalidation(new JAccountProperties.Invalidation());
+        remoteCache = mock(AccountCacheComponent.class);
+        local = replica(mock(AccountCacheComponent.class), bus, properties);
+        replica(remoteCache, bus, properties);
+    }
+
+    @Test
+    void renameEvictsOldAndNewNicknameOnOtherReplicas() {
+        var id = UUID.randomUUID();
+        local.invalidate(account(id, "Renamed"));
+        local.invalidate(account(id, "Original"));
+        local.flush();
+
+        var event = ArgumentCaptor.forClass(AccountInvalidationEvent.class);
+        verify(remoteCache).evict(event.capture());
+        assertEquals(id, event.getValue().getId());
+        assertEquals(Set.of("renamed", "original"), event.getValue().getNicknames());
+        assertEquals(Set.of("user@mail.co"), event.getValue().getEmails());
+    }
+
+    private AccountInvalidationComponent replica(AccountCacheComponent cache,
+                                                 AccountInvalidationBus bus,
+                                                 JAccountProperties properties) {
+        var replica = new AccountInvalidationComponentImpl(cache, bus, properties);
+        ReflectionTestUtils.invokeMethod(replica, "init");
+
+        return replica;
+    }
+
+    private Account account(UUID id, String nickname) {
+        return Account.builder()
+                .id(id)
+                .nickname(nickname)
+                .email("User@mail.co")
+                .build();
+    }
+
+    private static class InMemoryBus implements AccountInvalidationBus {
+        private final List<Consumer<AccountInvalidationMessage>> subscribers = new ArrayList<>();
+
+        @Override
+        public void send(AccountInvalidationMessage message) {
+            subscribers.forEach(subscriber -> subscriber.accept(message));
+        }
+
+        @Override
+        public void subscribe(Consumer<AccountInvalidationMessage> subscriber) {
+            subscribers.add(subscriber);
+        }
+    }
+}
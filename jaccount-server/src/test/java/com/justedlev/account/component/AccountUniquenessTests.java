@@ -0,0 +1,171 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.common.mapper.impl.AccountMapperImpl;
+import com.justedlev.account.component.impl.AccountComponentImpl;
+import com.justedlev.account.constant.ExceptionConstant;
+import com.justedlev.account.model.request.AccountRequest;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.custom.impl.AccountQueryTemplates;
+import com.justedlev.account.repository.entity.Account;
+import com.justedlev.storage.client.JStorageFeignClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Try;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityExistsException;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Fires parallel duplicate registrations through {@link AccountComponent#create} at the live account unique
+ * indexes and checks that exactly one of them gets through while the others are told which key is taken.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AccountComponentImpl.class, AccountMapperImpl.class, AccountQueryTemplates.class})
+class AccountUniquenessTests {
+    private static final int ATTEMPTS = 32;
+    @Autowired
+    private AccountComponent accountComponent;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private JStorageFeignClient storageFeignClient;
+    @MockBean
+    private PageCounterComponent pageCounterComponent;
+    @MockBean
+    private AccountCacheComponent accountCacheComponent;
+    @MockBean
+    private AccountInvalidationComponent accountInvalidationComponent;
+    @MockBean
+    private PhoneNumberComponent phoneNumberComponent;
+    @MockBean
+    private PresenceComponent presenceComponent;
+
+    @Test
+    void sameEmailIsRegisteredOnce() {
+        var requests = requests(i -> request("Same@Mail.co", "email" + i));
+
+        assertRegisteredOnce(requests, register(requests), ExceptionConstant.USER_EXISTS, AccountRequest::getEmail);
+    }
+
+    @Test
+    void sameNicknameIsRegisteredOnce() {
+        var requests = requests(i -> request("nickname" + i + "@mail.co", i % 2 == 0 ? "same" : "SAME"));
+
+        assertRegisteredOnce(requests, register(requests), ExceptionConstant.NICKNAME_TAKEN,
+                AccountRequest::getNickname);
+    }
+
+    @Test
+    void deletedAccountDoesNotBlockRegistration() {
+        jdbcTemplate.update("""
+                INSERT INTO accounts (account_id, nick_name, email, activation_code, status_code, mode_code, mode_at,
+                                      created_at, updated_at)
+                VALUES (gen_random_uuid(), 'gone', 'gone@mail.co', md5(random()::TEXT), 5, 2, now(), now(), now())
+                """);
+        var requests = requests(i -> request("gone@mail.co", "gone"));
+
+        assertRegisteredOnce(requests, register(requests), ExceptionConstant.USER_EXISTS, AccountRequest::getEmail);
+    }
+
+    private static AccountRequest request(String email, String nickname) {
+        return AccountRequest.builder()
+                .email(email)
+                .nickname(nickname)
+                .build();
+    }
+
+    private static List<AccountRequest> requests(IntFunction<AccountRequest> request) {
+        return IntStream.range(0, ATTEMPTS)
+                .mapToObj(request)
+                .toList();
+    }
+
+    private static void assertRegisteredOnce(List<AccountRequest> requests,
+                                             List<Try<Account>> results,
+                                             String message,
+                                             Function<AccountRequest, String> key) {
+        assertEquals(1, results.stream().filter(Try::isSuccess).count());
+        IntStream.range(0, ATTEMPTS)
+                .filter(i -> results.get(i).isFailure())
+                .forEach(i -> {
+                    var cause = results.get(i).getCause();
+                    assertInstanceOf(EntityExistsException.class, cause);
+                    assertEquals(String.format(message, key.apply(requests.get(i))), cause.getMessage());
+                });
+    }
+
+    private List<Try<Account>> register(List<AccountRequest> requests) {
+        var executor = Executors.newFixedThreadPool(ATTEMPTS);
+        var start = new CountDownLatch(1);
+
+        try {
+            var attempts = requests.stream()
+                    .map(request -> CompletableFuture.supplyAsync(() -> {
+                        await(start);
+                        return Try.of(() -> accountComponent.create(request));
+                    }, executor))
+                    .toList();
+            start.countDown();
+
+            return attempts.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties({JAccountProperties.Search.class, JAccountProperties.Query.class})
+    static class EmbeddedPostgresConfiguration {
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.justedlev.account.component;
+
+import com.justedlev.account.component.impl.PresenceComponentImpl;
+import com.justedlev.account.enumeration.ModeType;
+import com.justedlev.account.model.Mode;
+import com.justedlev.account.properties.JAccountProperties;
+import com.justedlev.account.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Heartbeats race a flusher that drops every clean entry at once, none of them may get lost.
+ */
+class PresenceComponentTests {
+    private static final int ACCOUNTS = 8;
+    private static final int HEARTBEATS = 20_000;
+    private static final ModeType[] MODES = ModeType.values();
+    private final Map<UUID, ModeType> flushed = new ConcurrentHashMap<>();
+    private PresenceComponent presenceComponent;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new JAccountProperties();
+        properties.setActivityTime(Duration.ZERO);
+        properties.setPresence(new JAccountProperties.Presence());
+        var accountRepository = mock(AccountRepository.class);
+        doAnswer(invocation -> {
+            Map<UUID, Mode> modes = invocation.getArgument(0);
+            modes.forEach((id, mode) -> flushed.put(id, mode.getModeType()));
+
+            return null;
+        }).when(accountRepository).updateModes(anyMap(), anyInt());
+        presenceComponent = new PresenceComponentImpl(properties, accountRepository,
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void lastHeartbeatIsFlushedWhileTheFlusherDropsEntries() {
+        var ids = IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+        var executor = Executors.newFixedThreadPool(ACCOUNTS + 1);
+        var running = new AtomicBoolean(true);
+
+        try {
+            var flusher = CompletableFuture.runAsync(() -> {
+                while (running.get()) {
+                    presenceComponent.flush();
+                }
+            }, executor);
+            var heartbeats = ids.stream()
+                    .map(id -> CompletableFuture.runAsync(() -> IntStream.range(0, HEARTBEATS)
+                            .forEach(i -> presenceComponent.heartbeat(id, MODES[i % MODES.length])), executor))
+                    .toList();
+            heartbeats.forEach(CompletableFuture::join);
+            running.set(false);
+            flusher.join();
+        } finally {
+            executor.shutdown();
+        }
+
+        presenceComponent.flush();
+
+        var last = MODES[(HEARTBEATS - 1) % MODES.length];
+        assertTrue(flushed.keySet().containsAll(ids));
+        ids.forEach(id -> assertEquals(last, flushed.get(id)));
+    }
+
+    @Test
+    void expiredEntryIsDroppedAndComesBackOnHeartbeat() {
+        var id = UUID.randomUUID();
+        presenceComponent.heartbeat(id, ModeType.ONLINE);
+
+        while (presenceComponent.getMode(id).isPresent()) {
+            presenceComponent.flush();
+        }
+
+        assertEquals(ModeType.ONLINE, flushed.get(id));
+
+        presenceComponent.heartbeat(id, ModeType.SLEEP);
+
+        assertEquals(ModeType.SLEEP, presenceComponent.getMode(id).map(Mode::getModeType).orElseThrow());
+    }
+}
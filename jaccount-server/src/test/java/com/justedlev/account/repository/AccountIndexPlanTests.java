@@ -0,0 +1,111 @@
+package com.justedlev.account.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the migrations against an embedded PostgreSQL and checks that every filter shape is served by an index.
+ * Rows are written with codes only, as the current version does, and with ids made of their row number.
+ */
+class AccountIndexPlanTests {
+    private static final int ROWS = 50_000;
+    private static final String SELECT = "EXPLAIN SELECT account_id FROM accounts WHERE ";
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        var dataSource = postgres.getPostgresDatabase();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO accounts (account_id, nick_name, first_name, last_name, gender_code, email, phone_national,
+                                      phone_country_code, phone_region_code, activation_code, status_code, mode_code,
+                                      mode_at, created_at, updated_at)
+                SELECT CAST('00000000-0000-0000-0000-' || lpad(i::TEXT, 12, '0') AS UUID),
+                       'nick' || i,
+                       'First' || i,
+                       'Last' || i,
+                       1,
+                       'user' || i || '@mail.co',
+                       500000000 + i,
+                       972,
+                       'IL',
+                       md5(i::TEXT),
+                       CASE WHEN i % 50 = 0 THEN 2 ELSE 1 END,
+                       CASE WHEN i % 100 = 0 THEN 1 ELSE 2 END,
+                       now() - i * INTERVAL '1 minute',
+                       now(),
+                       now()
+                FROM generate_series(1, ?) AS i
+                """, ROWS);
+        jdbcTemplate.execute("ANALYZE accounts");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    static Stream<Arguments> filterShapes() {
+        return Stream.of(
+                Arguments.of("ids", """
+                        account_id IN ('00000000-0000-0000-0000-000000000042',
+                                       '00000000-0000-0000-0000-000000004242')"""),
+                Arguments.of("emails", "lower(email) IN ('user42@mail.co', 'user4242@mail.co')"),
+                Arguments.of("nicknames", "lower(nick_name) IN ('nick42', 'nick4242')"),
+                Arguments.of("emails and nicknames", "lower(email) IN ('user42@mail.co') AND lower(nick_name) IN ('nick42')"),
+                Arguments.of("modes and modeAt", "mode_code IN (1, 4) AND mode_at < now() - INTERVAL '10 minutes'"),
+                Arguments.of("modes, modeAt and status", """
+                        mode_code IN (1) AND mode_at >= now() - INTERVAL '1 day' AND status_code IN (1)"""),
+                Arguments.of("unconfirmed activation code", "status_code = 2 AND activation_code = md5('50')"),
+                Arguments.of("activation codes", "activation_code IN (md5('50'), md5('100'))"),
+                Arguments.of("search text", """
+                        account_search_document(email, nick_name, first_name, last_name, phone_national)
+                        LIKE '%user4242@%'"""),
+                Arguments.of("phone number", "phone_country_code = 972 AND phone_national = 500004242"),
+                Arguments.of("phone prefix", "account_phone_digits(phone_country_code, phone_national) LIKE '97250000424%'")
+        );
+    }
+
+    @Test
+    void liveNicknameFollowsNicknameAndStatus() {
+        jdbcTemplate.update("UPDATE accounts SET nick_name = 'Renamed1' WHERE nick_name = 'nick1'");
+        jdbcTemplate.update("UPDATE accounts SET status_code = 5 WHERE nick_name = 'nick2'");
+        jdbcTemplate.update("UPDATE accounts SET mode_code = 4 WHERE nick_name = 'nick3'");
+
+        assertEquals("renamed1", select("live_nick_name", "Renamed1", String.class));
+        assertNull(select("live_nick_name", "nick2", String.class));
+        assertEquals("nick3", select("live_nick_name", "nick3", String.class));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterShapes")
+    void filterShapeIsIndexed(String shape, String where) {
+        var plan = String.join("\n", jdbcTemplate.queryForList(SELECT + where, String.class));
+
+        assertFalse(plan.contains("Seq Scan"), () -> shape + " falls back to a sequential scan:\n" + plan);
+    }
+
+    private <T> T select(String column, String nickname, Class<T> type) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM accounts WHERE nick_name = ?", type, nickname);
+    }
+}
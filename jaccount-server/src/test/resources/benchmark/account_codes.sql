@@ -0,0 +1,77 @@
+-- Compares varchar status, mode and gender with their smallint codes: heap and index sizes on 1M accounts.
+-- Runs on its own tables, run with: psql -f account_codes.sql
+\timing on
+
+DROP TABLE IF EXISTS accounts_names_benchmark;
+DROP TABLE IF EXISTS accounts_codes_benchmark;
+CREATE TABLE accounts_names_benchmark
+(
+    account_id      UUID PRIMARY KEY,
+    activation_code VARCHAR(32)  NOT NULL,
+    gender          VARCHAR(255),
+    status          VARCHAR(30)  NOT NULL,
+    mode            VARCHAR(255) NOT NULL,
+    mode_at         TIMESTAMP    NOT NULL
+);
+CREATE TABLE accounts_codes_benchmark
+(
+    account_id      UUID PRIMARY KEY,
+    activation_code VARCHAR(32) NOT NULL,
+    gender_code     SMALLINT,
+    status_code     SMALLINT    NOT NULL,
+    mode_code       SMALLINT    NOT NULL,
+    mode_at         TIMESTAMP   NOT NULL
+);
+
+INSERT INTO accounts_names_benchmark
+SELECT gen_random_uuid(),
+       md5(i::TEXT),
+       CASE WHEN i % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END,
+       CASE WHEN i % 50 = 0 THEN 'UNCONFIRMED' ELSE 'ACTUAL' END,
+       CASE WHEN i % 100 = 0 THEN 'ONLINE' ELSE 'OFFLINE' END,
+       now() - i * INTERVAL '1 second'
+FROM generate_series(1, 1000000) AS i;
+
+INSERT INTO accounts_codes_benchmark
+SELECT gen_random_uuid(),
+       md5(i::TEXT),
+       CASE WHEN i % 2 = 0 THEN 1 ELSE 2 END,
+       CASE WHEN i % 50 = 0 THEN 2 ELSE 1 END,
+       CASE WHEN i % 100 = 0 THEN 1 ELSE 2 END,
+       now() - i * INTERVAL '1 second'
+FROM generate_series(1, 1000000) AS i;
+
+CREATE INDEX ix_accounts_names_benchmark_mode ON accounts_names_benchmark (mode, mode_at);
+CREATE INDEX ix_accounts_codes_benchmark_mode ON accounts_codes_benchmark (mode_code, mode_at);
+CREATE INDEX ix_accounts_names_benchmark_status ON accounts_names_benchmark (status);
+CREATE INDEX ix_accounts_codes_benchmark_status ON accounts_codes_benchmark (status_code);
+VACUUM ANALYZE accounts_names_benchmark;
+VACUUM ANALYZE accounts_codes_benchmark;
+
+-- The (mode, mode_at) entries round to the same 8 byte boundary either way, the single column index
+-- and the heap are where the codes save space
+SELECT relname,
+       indexrelname,
+       pg_size_pretty(pg_relation_size(indexrelid)) AS index_size,
+       pg_size_pretty(pg_relation_size(relid))      AS table_size
+FROM pg_stat_user_indexes
+WHERE relname IN ('accounts_names_benchmark', 'accounts_codes_benchmark')
+ORDER BY indexrelname;
+
+-- Sweeper shape
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT account_id
+FROM accounts_names_benchmark
+WHERE mode IN ('ONLINE', 'SLEEP')
+  AND mode_at < now() - INTERVAL '10 minutes'
+LIMIT 1000;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT account_id
+FROM accounts_codes_benchmark
+WHERE mode_code IN (1, 4)
+  AND mode_at < now() - INTERVAL '10 minutes'
+LIMIT 1000;
+
+DROP TABLE accounts_names_benchmark;
+DROP TABLE accounts_codes_benchmark;
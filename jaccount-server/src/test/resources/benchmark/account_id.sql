@@ -0,0 +1,61 @@
+-- Compares random (v4) and time ordered (v7) primary keys: insert cost, WAL and index size on 5M accounts.
+-- Runs on its own tables, run with: psql -f account_id.sql
+\timing on
+
+-- Same layout as Generator.generateTimeOrderedUuid, minus the in-process sequence
+CREATE OR REPLACE FUNCTION pg_temp.uuid_v7() RETURNS UUID AS
+$$
+SELECT encode(
+               set_bit(
+                       set_bit(
+                               overlay(uuid_send(gen_random_uuid())
+                                       PLACING substring(int8send(floor(extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                                       FROM 1 FOR 6),
+                               52, 1),
+                       53, 1),
+               'hex')::UUID
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS accounts_id_v4_benchmark;
+DROP TABLE IF EXISTS accounts_id_v7_benchmark;
+CREATE TABLE accounts_id_v4_benchmark
+(
+    account_id UUID PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL,
+    nick_name  VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP    NOT NULL DEFAULT now()
+);
+CREATE TABLE accounts_id_v7_benchmark (LIKE accounts_id_v4_benchmark INCLUDING ALL);
+
+-- Load, 5M rows each
+INSERT INTO accounts_id_v4_benchmark (account_id, email, nick_name)
+SELECT gen_random_uuid(), 'user' || i || '@mail.co', 'nick' || md5(i::TEXT)
+FROM generate_series(1, 5000000) AS i;
+
+INSERT INTO accounts_id_v7_benchmark (account_id, email, nick_name)
+SELECT pg_temp.uuid_v7(), 'user' || i || '@mail.co', 'nick' || md5(i::TEXT)
+FROM generate_series(1, 5000000) AS i;
+
+CHECKPOINT;
+
+-- Steady state inserts into the loaded tables, compare time, shared buffers dirtied and WAL bytes
+EXPLAIN (ANALYZE, BUFFERS, WAL)
+INSERT INTO accounts_id_v4_benchmark (account_id, email, nick_name)
+SELECT gen_random_uuid(), 'more' || i || '@mail.co', 'more' || md5(i::TEXT)
+FROM generate_series(1, 1000000) AS i;
+
+EXPLAIN (ANALYZE, BUFFERS, WAL)
+INSERT INTO accounts_id_v7_benchmark (account_id, email, nick_name)
+SELECT pg_temp.uuid_v7(), 'more' || i || '@mail.co', 'more' || md5(i::TEXT)
+FROM generate_series(1, 1000000) AS i;
+
+-- Random keys split pages all over the index and leave them half full
+SELECT relname,
+       pg_size_pretty(pg_relation_size(indexrelid)) AS pkey_size,
+       pg_size_pretty(pg_relation_size(relid))      AS table_size
+FROM pg_stat_user_indexes
+WHERE relname IN ('accounts_id_v4_benchmark', 'accounts_id_v7_benchmark')
+ORDER BY relname;
+
+DROP TABLE accounts_id_v4_benchmark;
+DROP TABLE accounts_id_v7_benchmark;
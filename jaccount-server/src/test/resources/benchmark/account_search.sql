@@ -0,0 +1,49 @@
+-- Compares the legacy LIKE search with the trigram search document on 1M generated accounts.
+-- Needs the db/migration scripts applied first, run with: psql -f account_search.sql
+\timing on
+
+DROP TABLE IF EXISTS accounts_search_benchmark;
+CREATE TABLE accounts_search_benchmark
+(
+    account_id        UUID PRIMARY KEY,
+    email             VARCHAR(255) NOT NULL,
+    nick_name         VARCHAR(255) NOT NULL,
+    first_name        VARCHAR(255),
+    last_name         VARCHAR(255),
+    phone_number_info JSONB
+);
+
+INSERT INTO accounts_search_benchmark
+SELECT gen_random_uuid(),
+       'user' || i || '@mail.co',
+       'nick' || md5(i::TEXT),
+       initcap(substr(md5((i * 7)::TEXT), 1, 8)),
+       initcap(substr(md5((i * 13)::TEXT), 1, 10)),
+       jsonb_build_object('national', 500000000 + i, 'countryCode', 972, 'regionCode', 'IL')
+FROM generate_series(1, 1000000) AS i;
+
+CREATE INDEX ix_accounts_search_benchmark_document
+    ON accounts_search_benchmark USING gin (
+        account_search_document(email, nick_name, first_name, last_name, phone_number_info) gin_trgm_ops);
+VACUUM ANALYZE accounts_search_benchmark;
+
+-- Legacy path
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT account_id
+FROM accounts_search_benchmark
+WHERE lower(email) LIKE '%d41d8%'
+   OR lower(nick_name) LIKE '%d41d8%'
+   OR lower(first_name) LIKE '%d41d8%'
+   OR lower(last_name) LIKE '%d41d8%'
+   OR jsonb_extract_path_text(phone_number_info, 'national') LIKE '%d41d8%'
+LIMIT 20;
+
+-- Trigram path
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT account_id
+FROM accounts_search_benchmark
+WHERE account_search_document(email, nick_name, first_name, last_name, phone_number_info) LIKE '%d41d8%'
+ORDER BY similarity(account_search_document(email, nick_name, first_name, last_name, phone_number_info), 'd41d8') DESC
+LIMIT 20;
+
+DROP TABLE accounts_search_benchmark;